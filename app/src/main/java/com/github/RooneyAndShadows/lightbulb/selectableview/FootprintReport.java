@@ -0,0 +1,103 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Locale;
+
+final class FootprintReport {
+    private static final String LIBRARY_PACKAGE = CheckBoxView.class.getPackage().getName();
+    private final String label;
+    private final int viewCount;
+    private final int fieldCount;
+    private final int libraryFieldCount;
+    private final int libraryReferenceCount;
+
+    private FootprintReport(String label, Census census) {
+        this.label = label;
+        this.viewCount = census.views;
+        this.fieldCount = census.fields;
+        this.libraryFieldCount = census.libraryFields;
+        this.libraryReferenceCount = census.libraryReferences;
+    }
+
+    static FootprintReport measure(Context context, String label, ViewFactory factory) {
+        Census census = new Census();
+        census.visit(factory.execute(context));
+        return new FootprintReport(label, census);
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    int getViewCount() {
+        return viewCount;
+    }
+
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    int getLibraryFieldCount() {
+        return libraryFieldCount;
+    }
+
+    int getLibraryReferenceCount() {
+        return libraryReferenceCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s: %d views, %d fields (%d library fields, %d set references)", label, viewCount, fieldCount, libraryFieldCount, libraryReferenceCount);
+    }
+
+    interface ViewFactory {
+        View execute(Context context);
+    }
+
+    private static final class Census {
+        private int views;
+        private int fields;
+        private int libraryFields;
+        private int libraryReferences;
+
+        private void visit(View view) {
+            views++;
+            for (Class<?> type = view.getClass(); type != null; type = type.getSuperclass())
+                countFields(view, type);
+            if (!(view instanceof ViewGroup))
+                return;
+            ViewGroup group = (ViewGroup) view;
+            int childCount = group.getChildCount();
+            for (int i = 0; i < childCount; i++)
+                visit(group.getChildAt(i));
+        }
+
+        private void countFields(View view, Class<?> type) {
+            boolean library = type.getName().startsWith(LIBRARY_PACKAGE + ".");
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic())
+                    continue;
+                fields++;
+                if (!library)
+                    continue;
+                libraryFields++;
+                if (!field.getType().isPrimitive() && isSet(view, field))
+                    libraryReferences++;
+            }
+        }
+
+        private static boolean isSet(View view, Field field) {
+            try {
+                field.setAccessible(true);
+                return field.get(view) != null;
+            } catch (IllegalAccessException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+}
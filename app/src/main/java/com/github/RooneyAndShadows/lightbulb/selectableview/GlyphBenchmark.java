@@ -0,0 +1,84 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+final class GlyphBenchmark {
+    private static final int WARM_UP_ROWS = 10;
+    private final String label;
+    private final int rowCount;
+    private final int toggleCount;
+    private final long constructNanos;
+    private final long toggleNanos;
+
+    private GlyphBenchmark(String label, int rowCount, int toggleCount, long constructNanos, long toggleNanos) {
+        this.label = label;
+        this.rowCount = rowCount;
+        this.toggleCount = toggleCount;
+        this.constructNanos = constructNanos;
+        this.toggleNanos = toggleNanos;
+    }
+
+    static <T extends View> GlyphBenchmark run(Context context, String label, int rowCount, int toggleRounds, int width, RowFactory<T> factory, RowToggle<T> toggle) {
+        if (rowCount <= 0 || toggleRounds <= 0 || width <= 0)
+            throw new IllegalArgumentException("Row count, toggle rounds and width must be positive.");
+        for (int i = 0; i < WARM_UP_ROWS; i++)
+            toggle.execute(factory.execute(context), true);
+        ArrayList<T> rows = new ArrayList<>(rowCount);
+        long start = System.nanoTime();
+        for (int i = 0; i < rowCount; i++)
+            rows.add(factory.execute(context));
+        long constructNanos = System.nanoTime() - start;
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        int height = 1;
+        for (T row : rows) {
+            row.measure(widthSpec, heightSpec);
+            row.layout(0, 0, row.getMeasuredWidth(), row.getMeasuredHeight());
+            height = Math.max(height, row.getMeasuredHeight());
+        }
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        start = System.nanoTime();
+        for (int round = 0; round < toggleRounds; round++) {
+            boolean checked = round % 2 == 0;
+            for (T row : rows) {
+                toggle.execute(row, checked);
+                row.draw(canvas);
+            }
+        }
+        long toggleNanos = System.nanoTime() - start;
+        bitmap.recycle();
+        return new GlyphBenchmark(label, rowCount, rowCount * toggleRounds, constructNanos, toggleNanos);
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    double getConstructMicrosPerRow() {
+        return constructNanos / 1000d / rowCount;
+    }
+
+    double getToggleMicrosPerRow() {
+        return toggleNanos / 1000d / toggleCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s: construct %.1f us/row, toggle %.1f us (%d rows, %d toggles)", label, getConstructMicrosPerRow(), getToggleMicrosPerRow(), rowCount, toggleCount);
+    }
+
+    interface RowFactory<T extends View> {
+        T execute(Context context);
+    }
+
+    interface RowToggle<T extends View> {
+        void execute(T row, boolean checked);
+    }
+}
@@ -1,14 +1,321 @@
 package com.github.rooneyandshadows.lightbulb.selectableview;
 
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
+import android.content.Context;
+import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.ScrollView;
+
+import com.google.android.material.switchmaterial.SwitchMaterial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MainActivity extends AppCompatActivity {
+    private static final String STATE_SCENARIO = "scenario";
+    private static final String STATE_OPTIMIZED = "optimized";
+    private static final int RADIO_OPTIONS_COUNT = 5000;
+    private static final int RADIO_PAGE_SIZE = 100;
+    private static final int RADIO_LOADED_PAGES = 5;
+    private static final int IMAGE_ITEMS_COUNT = 2000;
+    private static final int IMAGE_COLUMNS = 6;
+    private static final int BENCHMARK_ROWS = 100;
+    private static final int BENCHMARK_TOGGLE_ROUNDS = 4;
+    private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor();
+    private ScrollView demoScrollView;
+    private FrameLayout demoContainer;
+    private SwitchMaterial optimizedSwitch;
+    private PerfOverlay perfOverlay;
+    private PagedSelectableOptions pagedOptions;
+    private SelectableRadioGroup pagedRadioGroup;
+    private int radioAnchorId = View.NO_ID;
+    private int radioAnchorOffset;
+    private Scenario scenario = Scenario.CHECKBOXES_1K;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        demoScrollView = findViewById(R.id.demoScrollView);
+        demoContainer = findViewById(R.id.demoContainer);
+        optimizedSwitch = findViewById(R.id.optimizedSwitch);
+        optimizedSwitch.setSaveEnabled(false);
+        perfOverlay = new PerfOverlay(findViewById(R.id.perfOverlayTextView), demoContainer);
+        if (savedInstanceState != null) {
+            scenario = Scenario.values()[savedInstanceState.getInt(STATE_SCENARIO, 0)];
+            optimizedSwitch.setChecked(savedInstanceState.getBoolean(STATE_OPTIMIZED, false));
+        }
+        findViewById(R.id.checkBoxes1kButton).setOnClickListener(v -> showScenario(Scenario.CHECKBOXES_1K));
+        findViewById(R.id.checkBoxes10kButton).setOnClickListener(v -> showScenario(Scenario.CHECKBOXES_10K));
+        findViewById(R.id.radioGroupButton).setOnClickListener(v -> showScenario(Scenario.RADIO_GROUP));
+        findViewById(R.id.imageGridButton).setOnClickListener(v -> showScenario(Scenario.IMAGE_GRID));
+        findViewById(R.id.footprintButton).setOnClickListener(v -> showFootprint());
+        findViewById(R.id.benchmarkButton).setOnClickListener(v -> showBenchmark());
+        findViewById(R.id.stressButton).setOnClickListener(v -> startActivity(new Intent(this, StressHarnessActivity.class)));
+        optimizedSwitch.setOnCheckedChangeListener((buttonView, isChecked) -> showScenario(scenario));
+        demoScrollView.setOnScrollChangeListener((v, scrollX, scrollY, oldScrollX, oldScrollY) -> {
+            updateRadioScrollAnchor();
+            loadVisibleRadioPages();
+        });
+        showScenario(scenario);
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        perfOverlay.start();
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        perfOverlay.stop();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        backgroundExecutor.shutdownNow();
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putInt(STATE_SCENARIO, scenario.ordinal());
+        outState.putBoolean(STATE_OPTIMIZED, optimizedSwitch.isChecked());
+    }
+
+    private void showScenario(Scenario scenario) {
+        this.scenario = scenario;
+        boolean optimized = optimizedSwitch.isChecked();
+        if (pagedOptions != null)
+            pagedOptions.setOnPagesChangedListener(null);
+        pagedOptions = null;
+        pagedRadioGroup = null;
+        radioAnchorId = View.NO_ID;
+        demoContainer.removeAllViews();
+        demoScrollView.scrollTo(0, 0);
+        long start = SystemClock.elapsedRealtime();
+        View content;
+        switch (scenario) {
+            case CHECKBOXES_10K:
+                content = createCheckBoxRows(10000, optimized);
+                break;
+            case RADIO_GROUP:
+                content = createRadioGroup(optimized);
+                break;
+            case IMAGE_GRID:
+                content = createImageGrid(optimized);
+                break;
+            default:
+                content = createCheckBoxRows(1000, optimized);
+                break;
+        }
+        demoContainer.addView(content);
+        perfOverlay.countInstances();
+        perfOverlay.setScenario(getString(scenario.labelRes) + (optimized ? " (optimized)" : " (standard)"), SystemClock.elapsedRealtime() - start);
+        demoContainer.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                demoContainer.getViewTreeObserver().removeOnPreDrawListener(this);
+                perfOverlay.setFirstFrameMillis(SystemClock.elapsedRealtime() - start);
+                return true;
+            }
+        });
+    }
+
+    private View createCheckBoxRows(int count, boolean optimized) {
+        LinearLayout rows = new LinearLayout(this);
+        rows.setOrientation(LinearLayout.VERTICAL);
+        LayoutInflater inflater = LayoutInflater.from(this);
+        int layout = optimized ? R.layout.item_checkbox_optimized : R.layout.item_checkbox_standard;
+        for (int i = 0; i < count; i++) {
+            CheckBoxView row = (CheckBoxView) inflater.inflate(layout, rows, false);
+            if (optimized)
+                row.setTextPrecomputeExecutor(backgroundExecutor);
+            row.setText("Option " + (i + 1));
+            rows.addView(row);
+        }
+        return rows;
+    }
+
+    private View createRadioGroup(boolean optimized) {
+        SelectableRadioGroup group = new SelectableRadioGroup(this);
+        if (!optimized) {
+            List<SelectableOption> options = new ArrayList<>(RADIO_OPTIONS_COUNT);
+            for (int i = 0; i < RADIO_OPTIONS_COUNT; i++)
+                options.add(createRadioOption(i));
+            group.setOptions(options);
+            return group;
+        }
+        group.setTextPrecomputeExecutor(backgroundExecutor);
+        pagedOptions = new PagedSelectableOptions(new PagedSelectableOptions.DataSource() {
+            @Override
+            public int getCount() {
+                return RADIO_OPTIONS_COUNT;
+            }
+
+            @Override
+            public List<SelectableOption> load(int position, int count) {
+                int end = Math.min(RADIO_OPTIONS_COUNT, position + count);
+                List<SelectableOption> options = new ArrayList<>(Math.max(0, end - position));
+                for (int i = position; i < end; i++)
+                    options.add(createRadioOption(i));
+                return options;
+            }
+
+            @Override
+            public int getPosition(int optionId) {
+                return optionId - 1;
+            }
+        }, backgroundExecutor, RADIO_PAGE_SIZE, RADIO_LOADED_PAGES);
+        group.setPagedOptions(pagedOptions);
+        group.addOnLayoutChangeListener((v, left, top, right, bottom, oldLeft, oldTop, oldRight, oldBottom) -> onPagedRadioGroupLayout());
+        pagedRadioGroup = group;
+        return group;
+    }
+
+    private SelectableOption createRadioOption(int position) {
+        return new SelectableOption(position + 1, "Option " + (position + 1));
+    }
+
+    private void onPagedRadioGroupLayout() {
+        perfOverlay.countInstances();
+        RadioButtonView anchor = radioAnchorId == View.NO_ID ? null : pagedRadioGroup.findButton(radioAnchorId);
+        if (anchor == null) {
+            updateRadioScrollAnchor();
+            return;
+        }
+        int scrollY = demoContainer.getTop() + pagedRadioGroup.getTop() + anchor.getTop() - radioAnchorOffset;
+        if (scrollY != demoScrollView.getScrollY())
+            demoScrollView.scrollTo(0, scrollY);
+    }
+
+    private void updateRadioScrollAnchor() {
+        if (pagedRadioGroup == null)
+            return;
+        int childCount = pagedRadioGroup.getChildCount();
+        if (childCount == 0) {
+            radioAnchorId = View.NO_ID;
+            return;
+        }
+        int visibleTop = demoScrollView.getScrollY() - demoContainer.getTop() - pagedRadioGroup.getTop();
+        int low = 0;
+        int high = childCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (pagedRadioGroup.getChildAt(middle).getBottom() <= visibleTop)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        View anchor = pagedRadioGroup.getChildAt(low);
+        radioAnchorId = anchor.getId();
+        radioAnchorOffset = anchor.getTop() - visibleTop;
+    }
+
+    private void loadVisibleRadioPages() {
+        if (pagedOptions == null)
+            return;
+        List<SelectableOption> loaded = pagedOptions.getLoadedOptions();
+        if (loaded.isEmpty())
+            return;
+        int threshold = demoScrollView.getHeight();
+        int scrollY = demoScrollView.getScrollY();
+        int lastId = loaded.get(loaded.size() - 1).getId();
+        if (lastId < RADIO_OPTIONS_COUNT && demoContainer.getHeight() - (scrollY + demoScrollView.getHeight()) < threshold)
+            pagedOptions.loadAround(lastId);
+        int firstId = loaded.get(0).getId();
+        if (firstId > 1 && scrollY < threshold)
+            pagedOptions.loadAround(firstId - 2);
+    }
+
+    private View createImageGrid(boolean optimized) {
+        SelectableImageGroup group = new SelectableImageGroup(this);
+        int spacing = Math.round(4 * getResources().getDisplayMetrics().density);
+        group.setColumnCount(IMAGE_COLUMNS);
+        group.setSpacing(spacing, spacing);
+        group.setSelectionMode(SelectableImageGroup.SelectionMode.MULTIPLE);
+        for (int i = 0; i < IMAGE_ITEMS_COUNT; i++) {
+            SelectableImageView item = new SelectableImageView(this);
+            item.setIndicatorAtlasEnabled(optimized);
+            group.addView(item, new SelectableImageGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        }
+        return group;
+    }
+
+    private void showFootprint() {
+        List<Measurement> measurements = new ArrayList<>();
+        measurements.add(() -> FootprintReport.measure(this, "Material checkbox", context -> inflateRow(context, R.layout.item_checkbox_standard)));
+        measurements.add(() -> FootprintReport.measure(this, "Glyph checkbox", context -> inflateRow(context, R.layout.item_checkbox_glyph)));
+        measurements.add(() -> FootprintReport.measure(this, "Lean glyph checkbox", context -> inflateRow(context, R.layout.item_checkbox_optimized)));
+        showMeasurements(R.string.demo_footprint, measurements);
+    }
+
+    private void showBenchmark() {
+        int width = getResources().getDisplayMetrics().widthPixels;
+        GlyphBenchmark.RowToggle<CheckBoxView> checkBoxToggle = CheckBoxView::setChecked;
+        GlyphBenchmark.RowToggle<RadioButtonView> radioToggle = RadioButtonView::setChecked;
+        List<Measurement> measurements = new ArrayList<>();
+        measurements.add(() -> GlyphBenchmark.run(this, "Material checkbox", BENCHMARK_ROWS, BENCHMARK_TOGGLE_ROUNDS, width, context -> new CheckBoxView(context, false), checkBoxToggle));
+        measurements.add(() -> GlyphBenchmark.run(this, "Glyph checkbox", BENCHMARK_ROWS, BENCHMARK_TOGGLE_ROUNDS, width, context -> new CheckBoxView(context, true), checkBoxToggle));
+        measurements.add(() -> GlyphBenchmark.run(this, "Material radio", BENCHMARK_ROWS, BENCHMARK_TOGGLE_ROUNDS, width, context -> new RadioButtonView(context, false), radioToggle));
+        measurements.add(() -> GlyphBenchmark.run(this, "Glyph radio", BENCHMARK_ROWS, BENCHMARK_TOGGLE_ROUNDS, width, context -> new RadioButtonView(context, true), radioToggle));
+        showMeasurements(R.string.demo_benchmark, measurements);
+    }
+
+    private void showMeasurements(int titleRes, List<Measurement> measurements) {
+        AlertDialog dialog = new AlertDialog.Builder(this)
+                .setTitle(titleRes)
+                .setMessage(R.string.demo_measuring)
+                .setPositiveButton(android.R.string.ok, null)
+                .show();
+        runMeasurement(dialog, measurements, 0, new StringBuilder());
+    }
+
+    private void runMeasurement(AlertDialog dialog, List<Measurement> measurements, int index, StringBuilder results) {
+        demoContainer.post(() -> {
+            if (!dialog.isShowing() || isFinishing())
+                return;
+            if (results.length() > 0)
+                results.append("\n\n");
+            results.append(measurements.get(index).execute());
+            boolean finished = index + 1 == measurements.size();
+            dialog.setMessage(finished ? results : results + "\n\n" + getString(R.string.demo_measuring));
+            if (!finished)
+                runMeasurement(dialog, measurements, index + 1, results);
+        });
+    }
+
+    private View inflateRow(Context context, int layout) {
+        return LayoutInflater.from(context).inflate(layout, demoContainer, false);
+    }
+
+    private interface Measurement {
+        Object execute();
+    }
+
+    private enum Scenario {
+        CHECKBOXES_1K(R.string.demo_checkboxes_1k),
+        CHECKBOXES_10K(R.string.demo_checkboxes_10k),
+        RADIO_GROUP(R.string.demo_radio_group),
+        IMAGE_GRID(R.string.demo_image_grid);
+
+        private final int labelRes;
+
+        Scenario(int labelRes) {
+            this.labelRes = labelRes;
+        }
     }
-}
\ No newline at end of file
+}
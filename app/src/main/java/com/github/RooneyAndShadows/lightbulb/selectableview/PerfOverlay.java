@@ -0,0 +1,125 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import java.util.Locale;
+
+final class PerfOverlay implements Choreographer.FrameCallback {
+    private static final int FRAME_WINDOW = 120;
+    private static final long JANK_THRESHOLD_NANOS = 17_000_000L;
+    private static final long REFRESH_INTERVAL_MS = 500;
+    private final TextView overlayView;
+    private final ViewGroup trackedRoot;
+    private final long[] frameDurations = new long[FRAME_WINDOW];
+    private final int[] instanceCounts = new int[4];
+    private final Runnable refreshRunnable = this::refresh;
+    private int frameCount;
+    private int framePosition;
+    private long lastFrameTimeNanos;
+    private boolean running;
+    private String scenario = "";
+    private long constructionMillis;
+    private long firstFrameMillis = -1;
+
+    PerfOverlay(TextView overlayView, ViewGroup trackedRoot) {
+        this.overlayView = overlayView;
+        this.trackedRoot = trackedRoot;
+    }
+
+    void start() {
+        if (running)
+            return;
+        running = true;
+        lastFrameTimeNanos = 0;
+        Choreographer.getInstance().postFrameCallback(this);
+        overlayView.post(refreshRunnable);
+    }
+
+    void stop() {
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+        overlayView.removeCallbacks(refreshRunnable);
+    }
+
+    void setScenario(String scenario, long constructionMillis) {
+        this.scenario = scenario;
+        this.constructionMillis = constructionMillis;
+        firstFrameMillis = -1;
+        frameCount = 0;
+        framePosition = 0;
+    }
+
+    void countInstances() {
+        for (int i = 0; i < instanceCounts.length; i++)
+            instanceCounts[i] = 0;
+        countInstances(trackedRoot);
+    }
+
+    void setFirstFrameMillis(long firstFrameMillis) {
+        this.firstFrameMillis = firstFrameMillis;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (lastFrameTimeNanos != 0) {
+            frameDurations[framePosition] = frameTimeNanos - lastFrameTimeNanos;
+            framePosition = (framePosition + 1) % FRAME_WINDOW;
+            frameCount = Math.min(frameCount + 1, FRAME_WINDOW);
+        }
+        lastFrameTimeNanos = frameTimeNanos;
+        if (running)
+            Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    private void refresh() {
+        long totalNanos = 0;
+        long maxNanos = 0;
+        int jankyFrames = 0;
+        for (int i = 0; i < frameCount; i++) {
+            long duration = frameDurations[i];
+            totalNanos += duration;
+            maxNanos = Math.max(maxNanos, duration);
+            if (duration > JANK_THRESHOLD_NANOS)
+                jankyFrames++;
+        }
+        double averageMillis = frameCount == 0 ? 0 : totalNanos / (double) frameCount / 1_000_000d;
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeapKb = (runtime.totalMemory() - runtime.freeMemory()) / 1024;
+        overlayView.setText(String.format(Locale.US,
+                "%s%nbuild %d ms, first frame %s%nframe avg %.1f ms, max %.1f ms%njank %d/%d%ncheckbox %d, radio %d%nimage %d, views %d%nheap %d KB",
+                scenario,
+                constructionMillis,
+                firstFrameMillis < 0 ? "-" : firstFrameMillis + " ms",
+                averageMillis,
+                maxNanos / 1_000_000d,
+                jankyFrames,
+                frameCount,
+                instanceCounts[0],
+                instanceCounts[1],
+                instanceCounts[2],
+                instanceCounts[3],
+                usedHeapKb
+        ));
+        if (running)
+            overlayView.postDelayed(refreshRunnable, REFRESH_INTERVAL_MS);
+    }
+
+    private void countInstances(View view) {
+        instanceCounts[3]++;
+        if (view instanceof CheckBoxView)
+            instanceCounts[0]++;
+        else if (view instanceof RadioButtonView)
+            instanceCounts[1]++;
+        else if (view instanceof SelectableImageView)
+            instanceCounts[2]++;
+        if (!(view instanceof ViewGroup))
+            return;
+        ViewGroup group = (ViewGroup) view;
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++)
+            countInstances(group.getChildAt(i));
+    }
+}
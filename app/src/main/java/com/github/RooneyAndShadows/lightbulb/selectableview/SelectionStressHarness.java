@@ -0,0 +1,507 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.os.Parcelable;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Executor;
+
+@SuppressWarnings("unused")
+public final class SelectionStressHarness {
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+    private static final int MAX_VIOLATIONS = 20;
+    private static final int MIN_CHILDREN = 4;
+    private static final int MAX_CHILDREN = 48;
+    private final Context context;
+    private final long seed;
+    private final int operationsCount;
+
+    public SelectionStressHarness(Context context, long seed, int operationsCount) {
+        this.context = context;
+        this.seed = seed;
+        this.operationsCount = operationsCount;
+    }
+
+    public List<Run> createRuns() {
+        List<Run> runs = new ArrayList<>();
+        runs.add(createRadioGroupRun());
+        runs.add(createCheckBoxGroupRun());
+        runs.add(createImageGroupRun());
+        return runs;
+    }
+
+    public Run createRadioGroupRun() {
+        return new RadioGroupRun();
+    }
+
+    public Run createCheckBoxGroupRun() {
+        return new CheckBoxGroupRun();
+    }
+
+    public Run createImageGroupRun() {
+        return new ImageGroupRun();
+    }
+
+    public List<Result> runAll() {
+        List<Result> results = new ArrayList<>();
+        for (Run run : createRuns())
+            results.add(run.finish());
+        return results;
+    }
+
+    public Result runRadioGroup() {
+        return createRadioGroupRun().finish();
+    }
+
+    public Result runCheckBoxGroup() {
+        return createCheckBoxGroupRun().finish();
+    }
+
+    public Result runImageGroup() {
+        return createImageGroupRun().finish();
+    }
+
+    private static void resyncCheckBoxes(CheckBoxGroup group) {
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            View child = group.getChildAt(i);
+            if (child instanceof CheckBoxView)
+                ((DeliveryCounter) child.getTag()).lastNotified = ((CheckBoxView) child).isChecked() ? 1 : 0;
+        }
+    }
+
+    private static void countTransitions(SelectionEventStream events, DeliveryCounter counter) {
+        events.subscribe(SelectionEventStream.Mode.BATCH, DIRECT_EXECUTOR, batch -> counter.transitions += batch.size());
+    }
+
+    private static int childCount(ViewGroup group, Class<? extends View> type) {
+        int count = 0;
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++)
+            if (type.isInstance(group.getChildAt(i)))
+                count++;
+        return count;
+    }
+
+    public abstract class Run {
+        private final Random random = new Random(seed);
+        private final Result result;
+        private int reentrancyDepth;
+
+        private Run(String widget) {
+            result = new Result(widget);
+        }
+
+        public boolean execute(int maxOperations) {
+            for (int i = 0; i < maxOperations && !isFinished(); i++) {
+                long start = System.nanoTime();
+                performOperation(random);
+                result.elapsedNanos += System.nanoTime() - start;
+                result.operations++;
+                checkInvariants();
+            }
+            return isFinished();
+        }
+
+        public boolean isFinished() {
+            return result.operations >= operationsCount;
+        }
+
+        public Result getResult() {
+            return result;
+        }
+
+        private Result finish() {
+            execute(operationsCount);
+            return result;
+        }
+
+        abstract void performOperation(Random random);
+
+        abstract void checkInvariants();
+
+        RadioButtonView createRadioButton(SelectableRadioGroup group) {
+            RadioButtonView button = new RadioButtonView(context);
+            button.setId(View.generateViewId());
+            button.setText("Option " + button.getId());
+            DeliveryCounter counter = new DeliveryCounter(button.isChecked() ? 1 : 0);
+            button.setTag(counter);
+            countTransitions(button.getSelectionEvents(), counter);
+            button.addOnCheckedListener((view, isChecked) -> {
+                countNotification();
+                counter.notifications++;
+                if ((isChecked ? 1 : 0) == counter.lastNotified)
+                    violation("Duplicate notification from radio " + view.getId());
+                if (isChecked != view.isChecked())
+                    violation("Radio " + view.getId() + " notified stale state " + isChecked);
+                counter.lastNotified = isChecked ? 1 : 0;
+                reenter(25, () -> {
+                    RadioButtonView other = randomChild(group, RadioButtonView.class);
+                    if (other != null)
+                        other.setChecked(true);
+                });
+            });
+            return button;
+        }
+
+        CheckBoxView createCheckBox() {
+            CheckBoxView box = new CheckBoxView(context);
+            box.setId(View.generateViewId());
+            box.setText("Option " + box.getId());
+            DeliveryCounter counter = new DeliveryCounter(box.isChecked() ? 1 : 0);
+            box.setTag(counter);
+            countTransitions(box.getSelectionEvents(), counter);
+            box.addOnCheckedListener((view, isChecked) -> {
+                countNotification();
+                counter.notifications++;
+                if ((isChecked ? 1 : 0) == counter.lastNotified)
+                    violation("Duplicate notification from checkbox " + view.getId());
+                if (isChecked != view.isChecked())
+                    violation("Checkbox " + view.getId() + " notified stale state " + isChecked);
+                counter.lastNotified = isChecked ? 1 : 0;
+                reenter(25, () -> view.setChecked(!isChecked));
+            });
+            return box;
+        }
+
+        SelectableImageView createImageView() {
+            SelectableImageView view = new SelectableImageView(context);
+            view.setId(View.generateViewId());
+            return view;
+        }
+
+        void countNotification() {
+            result.notifications++;
+        }
+
+        void reenter(int chance, Runnable action) {
+            if (reentrancyDepth != 0 || random.nextInt(chance) != 0)
+                return;
+            reentrancyDepth++;
+            action.run();
+            reentrancyDepth--;
+        }
+
+        void checkDeliveries(String source, DeliveryCounter counter) {
+            if (counter.notifications != counter.transitions)
+                violation(source + " delivered " + counter.notifications + " notifications for " + counter.transitions + " state changes");
+            counter.notifications = 0;
+            counter.transitions = 0;
+        }
+
+        int randomRadioId(SelectableRadioGroup group) {
+            if (random.nextInt(8) == 0)
+                return -1;
+            return randomChild(group, RadioButtonView.class).getId();
+        }
+
+        <T extends View> T randomChild(ViewGroup group, Class<T> type) {
+            int count = childCount(group, type);
+            if (count == 0)
+                return null;
+            int position = random.nextInt(count);
+            int childCount = group.getChildCount();
+            for (int i = 0; i < childCount; i++) {
+                View child = group.getChildAt(i);
+                if (type.isInstance(child) && position-- == 0)
+                    return type.cast(child);
+            }
+            return null;
+        }
+
+        void violation(String message) {
+            result.violationsCount++;
+            if (result.violations.size() < MAX_VIOLATIONS)
+                result.violations.add("#" + result.operations + " " + message);
+        }
+    }
+
+    private final class RadioGroupRun extends Run {
+        private final SelectableRadioGroup group = new SelectableRadioGroup(context);
+        private final DeliveryCounter groupCounter = new DeliveryCounter(-1);
+        private final SparseArray<Parcelable> container = new SparseArray<>();
+
+        private RadioGroupRun() {
+            super(SelectableRadioGroup.class.getSimpleName());
+            group.setId(View.generateViewId());
+            countTransitions(group.getSelectionEvents(), groupCounter);
+            group.setOnCheckedChangeListener((checkedId, view) -> {
+                countNotification();
+                groupCounter.notifications++;
+                if (checkedId == groupCounter.lastNotified)
+                    violation("Duplicate group notification for id " + checkedId);
+                if (checkedId != group.getCheckedId())
+                    violation("Group notified " + checkedId + " while checked id is " + group.getCheckedId());
+                groupCounter.lastNotified = checkedId;
+                reenter(20, () -> group.setCheckedId(randomRadioId(group)));
+            });
+            for (int i = 0; i < MIN_CHILDREN * 4; i++)
+                group.addView(createRadioButton(group));
+        }
+
+        @Override
+        void performOperation(Random random) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    randomChild(group, RadioButtonView.class).performClick();
+                    break;
+                case 1:
+                    group.setCheckedId(randomRadioId(group));
+                    break;
+                case 2:
+                    randomChild(group, RadioButtonView.class).setChecked(random.nextBoolean());
+                    break;
+                case 3:
+                    container.clear();
+                    group.saveHierarchyState(container);
+                    group.setCheckedId(randomRadioId(group));
+                    group.restoreHierarchyState(container);
+                    groupCounter.lastNotified = group.getCheckedId();
+                    break;
+                case 4:
+                    if (group.getChildCount() > MIN_CHILDREN)
+                        group.removeView(randomChild(group, RadioButtonView.class));
+                    break;
+                case 5:
+                    if (group.getChildCount() < MAX_CHILDREN) {
+                        RadioButtonView button = createRadioButton(group);
+                        button.setChecked(random.nextInt(4) == 0);
+                        group.addView(button, random.nextInt(group.getChildCount() + 1));
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        void checkInvariants() {
+            int checkedId = group.getCheckedId();
+            int checkedCount = 0;
+            int childCount = group.getChildCount();
+            for (int i = 0; i < childCount; i++) {
+                RadioButtonView button = (RadioButtonView) group.getChildAt(i);
+                DeliveryCounter counter = (DeliveryCounter) button.getTag();
+                if (counter.lastNotified != (button.isChecked() ? 1 : 0))
+                    violation("Radio " + button.getId() + " listeners missed its latest state");
+                checkDeliveries("Radio " + button.getId(), counter);
+                if (!button.isChecked())
+                    continue;
+                checkedCount++;
+                if (button.getId() != checkedId)
+                    violation("Radio " + button.getId() + " is checked while group checked id is " + checkedId);
+            }
+            if (checkedCount > 1)
+                violation(checkedCount + " radios checked at once");
+            RadioButtonView checkedButton = group.findButton(checkedId);
+            if (checkedButton != null && !checkedButton.isChecked())
+                violation("Group checked id " + checkedId + " points to an unchecked radio");
+            if (checkedId != groupCounter.lastNotified)
+                violation("Last notified id " + groupCounter.lastNotified + " differs from checked id " + checkedId);
+            checkDeliveries("Group", groupCounter);
+        }
+    }
+
+    private final class CheckBoxGroupRun extends Run {
+        private final CheckBoxGroup group = new CheckBoxGroup(context);
+        private final SparseArray<Parcelable> container = new SparseArray<>();
+        private boolean restored;
+
+        private CheckBoxGroupRun() {
+            super(CheckBoxGroup.class.getSimpleName());
+            group.setId(View.generateViewId());
+            group.setCheckedCountRange(0, MAX_CHILDREN / 2);
+            group.setAutoDisable(true);
+            for (int i = 0; i < MIN_CHILDREN * 4; i++)
+                group.addView(createCheckBox());
+        }
+
+        @Override
+        void performOperation(Random random) {
+            switch (random.nextInt(7)) {
+                case 0:
+                    randomChild(group, CheckBoxView.class).performClick();
+                    break;
+                case 1:
+                    randomChild(group, CheckBoxView.class).setChecked(random.nextBoolean());
+                    break;
+                case 2:
+                    group.setAllChecked(random.nextBoolean());
+                    break;
+                case 3:
+                    container.clear();
+                    group.saveHierarchyState(container);
+                    group.clearChecked();
+                    group.restoreHierarchyState(container);
+                    restored = true;
+                    break;
+                case 4:
+                    if (childCount(group, CheckBoxView.class) > MIN_CHILDREN)
+                        group.removeView(randomChild(group, CheckBoxView.class));
+                    break;
+                case 5:
+                    if (childCount(group, CheckBoxView.class) < MAX_CHILDREN)
+                        group.addView(createCheckBox());
+                    break;
+                case 6:
+                    group.setAutoDisable(!group.isAutoDisable());
+                    break;
+            }
+        }
+
+        @Override
+        void checkInvariants() {
+            if (restored) {
+                resyncCheckBoxes(group);
+                restored = false;
+            }
+            int checkedCount = 0;
+            int childCount = group.getChildCount();
+            for (int i = 0; i < childCount; i++) {
+                View child = group.getChildAt(i);
+                if (!(child instanceof CheckBoxView))
+                    continue;
+                CheckBoxView box = (CheckBoxView) child;
+                if (box.isChecked())
+                    checkedCount++;
+                DeliveryCounter counter = (DeliveryCounter) box.getTag();
+                if (counter.lastNotified != (box.isChecked() ? 1 : 0))
+                    violation("Checkbox " + box.getId() + " listeners missed its latest state");
+                checkDeliveries("Checkbox " + box.getId(), counter);
+            }
+            if (checkedCount != group.getCheckedCount())
+                violation("Group counts " + group.getCheckedCount() + " checked boxes, actual " + checkedCount);
+        }
+    }
+
+    private final class ImageGroupRun extends Run {
+        private final SelectableImageGroup group = new SelectableImageGroup(context);
+        private final SparseArray<Parcelable> container = new SparseArray<>();
+        private int[] lastNotified = new int[0];
+
+        private ImageGroupRun() {
+            super(SelectableImageGroup.class.getSimpleName());
+            group.setId(View.generateViewId());
+            group.setSelectionMode(SelectableImageGroup.SelectionMode.SINGLE);
+            group.setOnSelectionChangedListener((view, checkedIndices) -> {
+                countNotification();
+                if (Arrays.equals(checkedIndices, lastNotified))
+                    violation("Duplicate image group notification " + Arrays.toString(checkedIndices));
+                lastNotified = checkedIndices;
+            });
+            for (int i = 0; i < MIN_CHILDREN * 4; i++)
+                group.addView(createImageView());
+        }
+
+        @Override
+        void performOperation(Random random) {
+            int itemCount = group.getItemCount();
+            switch (random.nextInt(6)) {
+                case 0:
+                    group.getItem(random.nextInt(itemCount)).toggleChecked(false);
+                    break;
+                case 1:
+                    group.setChecked(random.nextInt(itemCount), random.nextBoolean());
+                    break;
+                case 2:
+                    group.setCheckedIndices(random.nextInt(itemCount), random.nextInt(itemCount));
+                    break;
+                case 3:
+                    container.clear();
+                    group.saveHierarchyState(container);
+                    group.clearChecked();
+                    group.restoreHierarchyState(container);
+                    lastNotified = group.getCheckedIndices();
+                    break;
+                case 4:
+                    if (itemCount > MIN_CHILDREN) {
+                        group.removeView(group.getItem(random.nextInt(itemCount)));
+                        lastNotified = group.getCheckedIndices();
+                    }
+                    break;
+                case 5:
+                    if (itemCount < MAX_CHILDREN) {
+                        group.addView(createImageView(), random.nextInt(itemCount + 1));
+                        lastNotified = group.getCheckedIndices();
+                    }
+                    break;
+            }
+        }
+
+        @Override
+        void checkInvariants() {
+            int itemCount = group.getItemCount();
+            for (int i = 0; i < itemCount; i++)
+                if (group.getItem(i).isChecked() != group.isChecked(i))
+                    violation("Image " + i + " checked state differs from group state");
+            if (group.getCheckedCount() > 1)
+                violation(group.getCheckedCount() + " images checked in single selection mode");
+            if (!Arrays.equals(lastNotified, group.getCheckedIndices()))
+                violation("Last notified selection " + Arrays.toString(lastNotified) + " differs from " + Arrays.toString(group.getCheckedIndices()));
+        }
+    }
+
+    private static final class DeliveryCounter {
+        private int lastNotified;
+        private int notifications;
+        private int transitions;
+
+        private DeliveryCounter(int lastNotified) {
+            this.lastNotified = lastNotified;
+        }
+    }
+
+    public static final class Result {
+        private final String widget;
+        private final List<String> violations = new ArrayList<>();
+        private int operations;
+        private int notifications;
+        private int violationsCount;
+        private long elapsedNanos;
+
+        private Result(String widget) {
+            this.widget = widget;
+        }
+
+        public String getWidget() {
+            return widget;
+        }
+
+        public int getOperations() {
+            return operations;
+        }
+
+        public int getNotifications() {
+            return notifications;
+        }
+
+        public int getViolationsCount() {
+            return violationsCount;
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+
+        public boolean isPassed() {
+            return violationsCount == 0;
+        }
+
+        public long getOperationsPerSecond() {
+            return elapsedNanos == 0 ? 0 : operations * 1_000_000_000L / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format(Locale.US, "%s: %d ops, %d ops/s, %d notifications, %d violations", widget, operations, getOperationsPerSecond(), notifications, violationsCount));
+            for (String violation : violations)
+                builder.append("\n  ").append(violation);
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+
+import java.util.List;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+public class StressHarnessActivity extends AppCompatActivity {
+    public static final String EXTRA_SEED = "seed";
+    public static final String EXTRA_OPERATIONS = "operations";
+    private static final String TAG = "SelectionStress";
+    private static final int OPERATIONS_PER_MESSAGE = 200;
+    private final Runnable stepRunnable = this::executeStep;
+    private TextView resultsTextView;
+    private Button runButton;
+    private List<SelectionStressHarness.Run> runs;
+    private int runIndex;
+    private StringBuilder report;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stress_harness);
+        resultsTextView = findViewById(R.id.stressResultsTextView);
+        runButton = findViewById(R.id.runStressButton);
+        runButton.setOnClickListener(v -> startHarness());
+    }
+
+    @Override
+    protected void onDestroy() {
+        resultsTextView.removeCallbacks(stepRunnable);
+        runs = null;
+        super.onDestroy();
+    }
+
+    private void startHarness() {
+        long seed = getIntent().getLongExtra(EXTRA_SEED, System.currentTimeMillis());
+        int operations = getIntent().getIntExtra(EXTRA_OPERATIONS, 20000);
+        runs = new SelectionStressHarness(this, seed, operations).createRuns();
+        runIndex = 0;
+        report = new StringBuilder("seed=").append(seed);
+        runButton.setEnabled(false);
+        resultsTextView.setText(R.string.stress_running);
+        resultsTextView.post(stepRunnable);
+    }
+
+    private void executeStep() {
+        if (runs == null)
+            return;
+        SelectionStressHarness.Run run = runs.get(runIndex);
+        if (run.execute(OPERATIONS_PER_MESSAGE)) {
+            SelectionStressHarness.Result result = run.getResult();
+            report.append("\n\n").append(result);
+            if (result.isPassed())
+                Log.i(TAG, result.toString());
+            else
+                Log.e(TAG, result.toString());
+            runIndex++;
+        }
+        if (runIndex < runs.size()) {
+            SelectionStressHarness.Result progress = runs.get(runIndex).getResult();
+            resultsTextView.setText(getString(R.string.stress_progress, progress.getWidget(), progress.getOperations()));
+            resultsTextView.post(stepRunnable);
+            return;
+        }
+        runs = null;
+        resultsTextView.setText(report);
+        runButton.setEnabled(true);
+    }
+}
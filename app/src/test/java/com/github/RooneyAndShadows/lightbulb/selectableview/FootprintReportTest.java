@@ -0,0 +1,72 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class FootprintReportTest {
+    private static final int STANDARD_VIEW_BUDGET = 6;
+    private static final int LEAN_VIEW_BUDGET = 4;
+    private static final int STANDARD_LIBRARY_FIELD_BUDGET = 40;
+    private static final int GLYPH_LIBRARY_FIELD_BUDGET = 44;
+    private static final int LEAN_LIBRARY_REFERENCE_BUDGET = 8;
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_SelectableView);
+    }
+
+    @Test
+    public void materialRowStaysWithinBudget() {
+        FootprintReport report = measure("Material checkbox", R.layout.item_checkbox_standard);
+        assertTrue(report.toString(), report.getViewCount() <= STANDARD_VIEW_BUDGET);
+        assertTrue(report.toString(), report.getLibraryFieldCount() <= STANDARD_LIBRARY_FIELD_BUDGET);
+    }
+
+    @Test
+    public void glyphRowStaysWithinBudget() {
+        FootprintReport report = measure("Glyph checkbox", R.layout.item_checkbox_glyph);
+        assertTrue(report.toString(), report.getViewCount() <= STANDARD_VIEW_BUDGET);
+        assertTrue(report.toString(), report.getLibraryFieldCount() <= GLYPH_LIBRARY_FIELD_BUDGET);
+    }
+
+    @Test
+    public void leanRowStaysWithinBudget() {
+        FootprintReport report = measure("Lean glyph checkbox", R.layout.item_checkbox_optimized);
+        assertTrue(report.toString(), report.getViewCount() <= LEAN_VIEW_BUDGET);
+        assertTrue(report.toString(), report.getLibraryFieldCount() <= GLYPH_LIBRARY_FIELD_BUDGET);
+        assertTrue(report.toString(), report.getLibraryReferenceCount() <= LEAN_LIBRARY_REFERENCE_BUDGET);
+    }
+
+    @Test
+    public void leanRowDropsUnusedChildren() {
+        FootprintReport glyph = measure("Glyph checkbox", R.layout.item_checkbox_glyph);
+        FootprintReport lean = measure("Lean glyph checkbox", R.layout.item_checkbox_optimized);
+        assertEquals(glyph.getViewCount() - 2, lean.getViewCount());
+        assertTrue(lean + " / " + glyph, lean.getFieldCount() < glyph.getFieldCount());
+        assertTrue(lean + " / " + glyph, lean.getLibraryReferenceCount() < glyph.getLibraryReferenceCount());
+    }
+
+    @Test
+    public void censusIsDeterministic() {
+        FootprintReport first = measure("Glyph checkbox", R.layout.item_checkbox_glyph);
+        FootprintReport second = measure("Glyph checkbox", R.layout.item_checkbox_glyph);
+        assertEquals(first.toString(), second.toString());
+    }
+
+    private FootprintReport measure(String label, int layout) {
+        return FootprintReport.measure(context, label, c -> LayoutInflater.from(c).inflate(layout, null, false));
+    }
+}
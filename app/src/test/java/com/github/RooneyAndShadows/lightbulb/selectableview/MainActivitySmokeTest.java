@@ -0,0 +1,140 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.app.Dialog;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import com.google.android.material.switchmaterial.SwitchMaterial;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.shadows.ShadowDialog;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class MainActivitySmokeTest {
+    private ActivityController<MainActivity> controller;
+    private MainActivity activity;
+
+    @Before
+    public void setUp() {
+        controller = Robolectric.buildActivity(MainActivity.class).setup();
+        activity = controller.get();
+    }
+
+    @After
+    public void tearDown() {
+        controller.pause().stop().destroy();
+    }
+
+    @Test
+    public void launchesWithCheckBoxRows() {
+        assertEquals(1000, countInstances(demoContainer(), CheckBoxView.class));
+    }
+
+    @Test
+    public void optimizedSwitchRebuildsRowsInLeanMode() {
+        ((SwitchMaterial) activity.findViewById(R.id.optimizedSwitch)).setChecked(true);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(1000, countInstances(demoContainer(), CheckBoxView.class));
+        ViewGroup rows = (ViewGroup) demoContainer().getChildAt(0);
+        assertTrue(((CheckBoxView) rows.getChildAt(0)).isLeanModeEnabled());
+    }
+
+    @Test
+    public void switchesToRadioGroup() {
+        click(R.id.radioGroupButton);
+        SelectableRadioGroup group = (SelectableRadioGroup) demoContainer().getChildAt(0);
+        assertEquals(5000, countInstances(group, RadioButtonView.class));
+    }
+
+    @Test
+    public void switchesToPagedRadioGroup() {
+        ((SwitchMaterial) activity.findViewById(R.id.optimizedSwitch)).setChecked(true);
+        click(R.id.radioGroupButton);
+        SelectableRadioGroup group = (SelectableRadioGroup) demoContainer().getChildAt(0);
+        assertNotNull(group.getPagedOptions());
+    }
+
+    @Test
+    public void overlayReportsCountsOfTheCurrentScenario() {
+        click(R.id.radioGroupButton);
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(600));
+        String overlay = ((TextView) activity.findViewById(R.id.perfOverlayTextView)).getText().toString();
+        assertTrue(overlay, overlay.contains("checkbox 0, radio 5000"));
+    }
+
+    @Test
+    public void switchesToImageGrid() {
+        click(R.id.imageGridButton);
+        SelectableImageGroup group = (SelectableImageGroup) demoContainer().getChildAt(0);
+        assertEquals(2000, group.getItemCount());
+    }
+
+    @Test
+    public void keepsScenarioAcrossRecreation() {
+        click(R.id.imageGridButton);
+        controller.recreate();
+        activity = controller.get();
+        assertTrue(demoContainer().getChildAt(0) instanceof SelectableImageGroup);
+    }
+
+    @Test
+    public void footprintDialogReportsEveryVariant() {
+        click(R.id.footprintButton);
+        String message = latestDialogMessage();
+        assertTrue(message, message.contains("Material checkbox"));
+        assertTrue(message, message.contains("Glyph checkbox"));
+        assertTrue(message, message.contains("Lean glyph checkbox"));
+    }
+
+    @Test
+    public void benchmarkDialogReportsEveryVariant() {
+        click(R.id.benchmarkButton);
+        String message = latestDialogMessage();
+        assertTrue(message, message.contains("Material checkbox"));
+        assertTrue(message, message.contains("Glyph checkbox"));
+        assertTrue(message, message.contains("Material radio"));
+        assertTrue(message, message.contains("Glyph radio"));
+    }
+
+    private void click(int id) {
+        activity.findViewById(id).performClick();
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private ViewGroup demoContainer() {
+        return activity.findViewById(R.id.demoContainer);
+    }
+
+    private static String latestDialogMessage() {
+        Dialog dialog = ShadowDialog.getLatestDialog();
+        assertNotNull(dialog);
+        TextView messageView = dialog.findViewById(android.R.id.message);
+        return messageView.getText().toString();
+    }
+
+    private static int countInstances(View view, Class<? extends View> type) {
+        int count = type.isInstance(view) ? 1 : 0;
+        if (!(view instanceof ViewGroup))
+            return count;
+        ViewGroup group = (ViewGroup) view;
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++)
+            count += countInstances(group.getChildAt(i), type);
+        return count;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class SelectionStressHarnessTest {
+    private static final long[] SEEDS = {1L, 42L, 1337L, 20240501L};
+    private static final int OPERATIONS = 1500;
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_SelectableView);
+    }
+
+    @Test
+    public void radioGroupKeepsInvariants() {
+        for (long seed : SEEDS)
+            assertPassed(seed, OPERATIONS, new SelectionStressHarness(context, seed, OPERATIONS).runRadioGroup());
+    }
+
+    @Test
+    public void checkBoxGroupKeepsInvariants() {
+        for (long seed : SEEDS)
+            assertPassed(seed, OPERATIONS, new SelectionStressHarness(context, seed, OPERATIONS).runCheckBoxGroup());
+    }
+
+    @Test
+    public void imageGroupKeepsInvariants() {
+        for (long seed : SEEDS)
+            assertPassed(seed, OPERATIONS, new SelectionStressHarness(context, seed, OPERATIONS).runImageGroup());
+    }
+
+    @Test
+    public void runAllCoversEveryGroup() {
+        List<SelectionStressHarness.Result> results = new SelectionStressHarness(context, SEEDS[0], 200).runAll();
+        assertEquals(3, results.size());
+        for (SelectionStressHarness.Result result : results)
+            assertPassed(SEEDS[0], 200, result);
+    }
+
+    @Test
+    public void chunkedRunMatchesSingleRun() {
+        SelectionStressHarness.Result whole = new SelectionStressHarness(context, SEEDS[1], 500).runRadioGroup();
+        SelectionStressHarness.Run run = new SelectionStressHarness(context, SEEDS[1], 500).createRadioGroupRun();
+        int messages = 0;
+        while (!run.execute(64))
+            messages++;
+        assertEquals(7, messages);
+        assertPassed(SEEDS[1], 500, run.getResult());
+        assertEquals(whole.getNotifications(), run.getResult().getNotifications());
+    }
+
+    private static void assertPassed(long seed, int operations, SelectionStressHarness.Result result) {
+        assertEquals(operations, result.getOperations());
+        assertTrue("seed=" + seed + " " + result, result.getNotifications() > 0);
+        assertTrue("seed=" + seed + " " + result, result.isPassed());
+    }
+}
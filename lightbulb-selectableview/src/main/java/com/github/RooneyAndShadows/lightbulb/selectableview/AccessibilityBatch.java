@@ -0,0 +1,36 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+
+@SuppressWarnings("unused")
+public final class AccessibilityBatch {
+    private static int depth;
+
+    private AccessibilityBatch() {
+    }
+
+    public static void begin() {
+        depth++;
+    }
+
+    public static void end() {
+        end(null, null);
+    }
+
+    public static void end(View host, CharSequence announcement) {
+        if (depth == 0)
+            throw new IllegalStateException("end() called without matching begin().");
+        depth--;
+        if (depth == 0 && host != null && announcement != null)
+            host.announceForAccessibility(announcement);
+    }
+
+    public static boolean isSuppressing() {
+        return depth > 0;
+    }
+
+    static boolean shouldSend(AccessibilityEvent event) {
+        return depth == 0 || event.getEventType() == AccessibilityEvent.TYPE_ANNOUNCEMENT;
+    }
+}
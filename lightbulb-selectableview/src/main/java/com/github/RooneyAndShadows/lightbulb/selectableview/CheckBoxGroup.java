@@ -0,0 +1,367 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityEvent;
+
+import java.util.ArrayList;
+
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.appcompat.widget.LinearLayoutCompat;
+import androidx.core.widget.TextViewCompat;
+
+@SuppressWarnings("unused")
+public class CheckBoxGroup extends LinearLayoutCompat {
+    private final ArrayList<CheckBoxView> boxes = new ArrayList<>();
+    private final ArrayList<CheckBoxView> disabledByGroup = new ArrayList<>();
+    private final CheckBoxView.OnCheckedChangeListener childCheckedListener = this::onChildCheckedChanged;
+    private int checkedCount;
+    private int minChecked;
+    private int maxChecked;
+    private boolean autoDisable;
+    private boolean limitApplied;
+    private boolean validationEnabled;
+    private boolean valid = true;
+    private String minErrorText;
+    private String maxErrorText;
+    private int[] pendingDisabledPositions;
+    private AppCompatTextView errorTextView;
+    private OnCheckedCountChangedListener onCheckedCountChangedListener;
+
+    public CheckBoxGroup(Context context) {
+        this(context, null);
+    }
+
+    public CheckBoxGroup(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        setSaveEnabled(true);
+        readAttributes(context, attrs);
+        initViews();
+    }
+
+    private void readAttributes(Context context, AttributeSet attrs) {
+        TypedArray a = context.getTheme().obtainStyledAttributes(attrs, R.styleable.CheckBoxGroup, 0, 0);
+        try {
+            minChecked = Math.max(0, a.getInt(R.styleable.CheckBoxGroup_CBG_MinChecked, 0));
+            maxChecked = a.getInt(R.styleable.CheckBoxGroup_CBG_MaxChecked, -1);
+            autoDisable = a.getBoolean(R.styleable.CheckBoxGroup_CBG_AutoDisable, false);
+            validationEnabled = a.getBoolean(R.styleable.CheckBoxGroup_CBG_ValidationEnabled, false);
+            minErrorText = a.getString(R.styleable.CheckBoxGroup_CBG_MinErrorText);
+            maxErrorText = a.getString(R.styleable.CheckBoxGroup_CBG_MaxErrorText);
+        } finally {
+            a.recycle();
+        }
+    }
+
+    private void initViews() {
+        setOrientation(VERTICAL);
+        int padding = getResources().getDimensionPixelSize(R.dimen.checkable_error_text_padding);
+        errorTextView = new AppCompatTextView(getContext());
+        errorTextView.setIncludeFontPadding(false);
+        errorTextView.setPaddingRelative(padding, 0, padding, 0);
+        TextViewCompat.setTextAppearance(errorTextView, R.style.ErrorTextAppearance);
+        errorTextView.setVisibility(GONE);
+        super.addView(errorTextView, -1, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+    }
+
+    @Override
+    public void addView(View child, int index, ViewGroup.LayoutParams params) {
+        int errorIndex = getChildCount() - 1;
+        if (index < 0 || index > errorIndex)
+            index = errorIndex;
+        super.addView(child, index, params);
+    }
+
+    @Override
+    public void onViewAdded(View child) {
+        super.onViewAdded(child);
+        registerDescendants(child);
+    }
+
+    @Override
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        unregisterDescendants(child);
+    }
+
+    @Override
+    public boolean onRequestSendAccessibilityEvent(View child, AccessibilityEvent event) {
+        return AccessibilityBatch.shouldSend(event) && super.onRequestSendAccessibilityEvent(child, event);
+    }
+
+    public void setOnCheckedCountChangedListener(OnCheckedCountChangedListener onCheckedCountChangedListener) {
+        this.onCheckedCountChangedListener = onCheckedCountChangedListener;
+    }
+
+    public void setCheckedCountRange(int minChecked, int maxChecked) {
+        this.minChecked = Math.max(0, minChecked);
+        this.maxChecked = maxChecked;
+        updateLimitState();
+        validate();
+    }
+
+    public int getMinChecked() {
+        return minChecked;
+    }
+
+    public int getMaxChecked() {
+        return maxChecked;
+    }
+
+    public int getCheckedCount() {
+        return checkedCount;
+    }
+
+    public void setAutoDisable(boolean autoDisable) {
+        if (this.autoDisable == autoDisable)
+            return;
+        this.autoDisable = autoDisable;
+        updateLimitState();
+    }
+
+    public boolean isAutoDisable() {
+        return autoDisable;
+    }
+
+    public void setValidationEnabled(boolean validationEnabled) {
+        this.validationEnabled = validationEnabled;
+        validate();
+    }
+
+    public boolean isValidationEnabled() {
+        return validationEnabled;
+    }
+
+    public void setMinErrorText(String minErrorText) {
+        this.minErrorText = minErrorText;
+        validate();
+    }
+
+    public void setMaxErrorText(String maxErrorText) {
+        this.maxErrorText = maxErrorText;
+        validate();
+    }
+
+    public String getErrorText() {
+        return errorTextView.getVisibility() == VISIBLE ? errorTextView.getText().toString() : null;
+    }
+
+    public boolean isValid() {
+        return checkedCount >= minChecked && (maxChecked < 0 || checkedCount <= maxChecked);
+    }
+
+    public boolean validate() {
+        boolean isValid = !validationEnabled || isValid();
+        String error = null;
+        if (!isValid)
+            error = checkedCount < minChecked ? minErrorText : maxErrorText;
+        if (isValid != valid || (!isValid && !TextUtils.equals(error, errorTextView.getText()))) {
+            valid = isValid;
+            errorTextView.setText(error);
+            errorTextView.setVisibility(isValid ? GONE : VISIBLE);
+        }
+        return isValid;
+    }
+
+    public void setAllChecked(boolean checked) {
+        SelectionBatch.begin();
+        AccessibilityBatch.begin();
+        try {
+            int boxesCount = boxes.size();
+            for (int i = 0; i < boxesCount; i++) {
+                if (checked && maxChecked >= 0 && checkedCount >= maxChecked)
+                    break;
+                boxes.get(i).setChecked(checked);
+            }
+        } finally {
+            AccessibilityBatch.end(this, getResources().getQuantityString(R.plurals.SV_selected_count_announcement, checkedCount, checkedCount));
+            SelectionBatch.end();
+        }
+    }
+
+    public void clearChecked() {
+        setAllChecked(false);
+    }
+
+    private void onChildCheckedChanged(CheckBoxView view, boolean isChecked) {
+        checkedCount += isChecked ? 1 : -1;
+        updateLimitState();
+        validate();
+        if (onCheckedCountChangedListener != null)
+            onCheckedCountChangedListener.execute(view, checkedCount);
+    }
+
+    private void updateLimitState() {
+        boolean limitReached = autoDisable && maxChecked >= 0 && checkedCount >= maxChecked;
+        if (limitReached == limitApplied)
+            return;
+        limitApplied = limitReached;
+        if (limitReached) {
+            int boxesCount = boxes.size();
+            for (int i = 0; i < boxesCount; i++)
+                disableByGroup(boxes.get(i));
+        } else {
+            int disabledCount = disabledByGroup.size();
+            for (int i = 0; i < disabledCount; i++)
+                disabledByGroup.get(i).setEnabled(true);
+            disabledByGroup.clear();
+        }
+    }
+
+    private void disableByGroup(CheckBoxView box) {
+        if (box.isChecked() || !box.isEnabled())
+            return;
+        box.setEnabled(false);
+        disabledByGroup.add(box);
+    }
+
+    private void registerDescendants(View view) {
+        if (view instanceof CheckBoxView) {
+            CheckBoxView box = (CheckBoxView) view;
+            boxes.add(box);
+            box.setOnGroupCheckedListener(childCheckedListener);
+            if (box.isChecked())
+                checkedCount++;
+            if (limitApplied)
+                disableByGroup(box);
+            else
+                updateLimitState();
+            return;
+        }
+        if (!(view instanceof ViewGroup) || view instanceof CheckBoxGroup)
+            return;
+        ViewGroup group = (ViewGroup) view;
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++)
+            registerDescendants(group.getChildAt(i));
+    }
+
+    private void unregisterDescendants(View view) {
+        if (view instanceof CheckBoxView) {
+            CheckBoxView box = (CheckBoxView) view;
+            if (!boxes.remove(box))
+                return;
+            box.setOnGroupCheckedListener(null);
+            if (disabledByGroup.remove(box))
+                box.setEnabled(true);
+            if (box.isChecked())
+                checkedCount--;
+            updateLimitState();
+            validate();
+            return;
+        }
+        if (!(view instanceof ViewGroup) || view instanceof CheckBoxGroup)
+            return;
+        ViewGroup group = (ViewGroup) view;
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++)
+            unregisterDescendants(group.getChildAt(i));
+    }
+
+    void registerNestedBox(CheckBoxView box) {
+        if (!boxes.contains(box))
+            registerDescendants(box);
+    }
+
+    void unregisterNestedBox(CheckBoxView box) {
+        unregisterDescendants(box);
+    }
+
+    @Override
+    protected void dispatchRestoreInstanceState(SparseArray<Parcelable> container) {
+        super.dispatchRestoreInstanceState(container);
+        checkedCount = 0;
+        int boxesCount = boxes.size();
+        for (int i = 0; i < boxesCount; i++)
+            if (boxes.get(i).isChecked())
+                checkedCount++;
+        disabledByGroup.clear();
+        if (pendingDisabledPositions != null) {
+            for (int position : pendingDisabledPositions)
+                if (position < boxesCount)
+                    disabledByGroup.add(boxes.get(position));
+            pendingDisabledPositions = null;
+        }
+        limitApplied = !disabledByGroup.isEmpty();
+        updateLimitState();
+        validate();
+    }
+
+    @Override
+    public Parcelable onSaveInstanceState() {
+        Parcelable superState = super.onSaveInstanceState();
+        SavedState myState = new SavedState(superState);
+        myState.minChecked = minChecked;
+        myState.maxChecked = maxChecked;
+        myState.autoDisable = autoDisable;
+        myState.validationEnabled = validationEnabled;
+        myState.disabledPositions = new int[disabledByGroup.size()];
+        for (int i = 0; i < myState.disabledPositions.length; i++)
+            myState.disabledPositions[i] = boxes.indexOf(disabledByGroup.get(i));
+        return myState;
+    }
+
+    @Override
+    public void onRestoreInstanceState(Parcelable state) {
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        minChecked = savedState.minChecked;
+        maxChecked = savedState.maxChecked;
+        autoDisable = savedState.autoDisable;
+        validationEnabled = savedState.validationEnabled;
+        pendingDisabledPositions = savedState.disabledPositions;
+    }
+
+    public interface OnCheckedCountChangedListener {
+        void execute(CheckBoxView view, int checkedCount);
+    }
+
+    private static class SavedState extends BaseSavedState {
+        private int minChecked;
+        private int maxChecked;
+        private boolean autoDisable;
+        private boolean validationEnabled;
+        private int[] disabledPositions;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            minChecked = in.readInt();
+            maxChecked = in.readInt();
+            autoDisable = in.readByte() != 0;
+            validationEnabled = in.readByte() != 0;
+            disabledPositions = in.createIntArray();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeInt(minChecked);
+            out.writeInt(maxChecked);
+            out.writeByte((byte) (autoDisable ? 1 : 0));
+            out.writeByte((byte) (validationEnabled ? 1 : 0));
+            out.writeIntArray(disabledPositions);
+        }
+
+        public static final Creator<SavedState> CREATOR
+                = new Creator<SavedState>() {
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+}
@@ -1,54 +1,101 @@
 package com.github.rooneyandshadows.lightbulb.selectableview;
 
 import android.content.Context;
+import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.util.SparseArray;
 import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.CheckBox;
 import android.widget.ImageView.ScaleType;
 
 import com.github.rooneyandshadows.java.commons.string.StringUtils;
 import com.github.rooneyandshadows.lightbulb.commons.utils.ResourceUtils;
 import com.google.android.material.checkbox.MaterialCheckBox;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Executor;
 
+import androidx.annotation.RequiresApi;
 import androidx.appcompat.widget.AppCompatImageView;
 import androidx.appcompat.widget.AppCompatTextView;
 import androidx.appcompat.widget.LinearLayoutCompat;
+import androidx.core.widget.TextViewCompat;
 import androidx.databinding.BindingAdapter;
 import androidx.databinding.InverseBindingAdapter;
 import androidx.databinding.InverseBindingListener;
+import androidx.lifecycle.LifecycleOwner;
 
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class CheckBoxView extends LinearLayoutCompat {
+    private static final int FLAG_CHECKED = 1;
+    private static final int FLAG_ENABLED = 1 << 1;
+    private static final int FLAG_VALIDATION_ENABLED = 1 << 2;
+    private static final int FLAG_ERROR_ENABLED = 1 << 3;
+    private static final int FLAG_FIXED_HEIGHT = 1 << 4;
+    private static final int FLAG_LIGHTWEIGHT_GLYPH = 1 << 5;
+    private static final int FLAG_GLYPH_ANIMATED = 1 << 6;
+    private static final int FLAG_LEAN_MODE = 1 << 7;
+    private static final int FLAG_MEASURE_CACHE_VALID = 1 << 8;
+    private static final int FLAG_CHECKED_CHANGE_IN_PROGRESS = 1 << 9;
+    private static final int FLAG_ICON_SOURCE_LOADED = 1 << 10;
+    private static final int FLAG_CHECKED_DELIVERY_PENDING = 1 << 11;
+    private static final int FLAG_DELIVERED_CHECKED = 1 << 12;
+    private static final int TEXT_POSITION_SHIFT = 16;
+    private static final int TEXT_POSITION_MASK = 1 << TEXT_POSITION_SHIFT;
+    private static final int ICON_SCALE_TYPE_SHIFT = 20;
+    private static final int ICON_SCALE_TYPE_MASK = 0xF << ICON_SCALE_TYPE_SHIFT;
+    private static final int SAVED_FLAGS = FLAG_CHECKED | FLAG_ENABLED | FLAG_VALIDATION_ENABLED | FLAG_ERROR_ENABLED | TEXT_POSITION_MASK | ICON_SCALE_TYPE_MASK;
+    private static final ScaleType[] SCALE_TYPES = ScaleType.values();
     private Drawable icon;
     private Drawable iconBackground;
-    private boolean checked;
-    private boolean validationEnabled;
-    private boolean errorEnabled;
-    private boolean enabled;
+    private IconSource iconSource;
+    private IconLoader.Request iconRequest;
+    private int flags;
+    private int cachedWidthMeasureSpec;
+    private int cachedHeightMeasureSpec;
+    private int cachedMeasuredHeight;
+    private int checkableViewHeight = -1;
     private int textSize;
     private int startIconSize;
     private int textSpacing;
     private int iconSpacing;
-    private int[] iconPadding;
+    private int iconPaddingLeft;
+    private int iconPaddingTop;
+    private int iconPaddingRight;
+    private int iconPaddingBottom;
     private String text = "";
     private String errorText = "";
     private AppCompatImageView iconView;
     private MaterialCheckBox checkBox;
+    private SelectionGlyphView glyphView;
+    private View checkableView;
     private AppCompatTextView textView;
     private AppCompatTextView errorTextView;
-    private TextPosition textPosition;
-    private LinearLayoutCompat checkboxWrapper;
-    private ScaleType iconScaleType;
+    private SelectableRowLayout checkboxWrapper;
     private OnCheckedChangeListener onCheckedChangeListener;
-    private OnCheckedChangeListener dataBindingCheckChangeListener;
-    private final List<ValidationCallback> validationCallbacks = new ArrayList<>();
+    private OnCheckedChangeListener onGroupCheckedListener;
+    private FrameCoalescedNotifier inverseBindingNotifier;
+    private SelectionStore selectionStore;
+    private int selectionStoreKey;
+    private SelectionEventStream selectionEventStream;
+    private Executor textPrecomputeExecutor;
+    private StaticRowSnapshot staticSnapshot;
+    private CheckBoxGroup nestedGroup;
+    private LifecycleGate lifecycleGate;
+    private CharSequence accessibilityText;
+    private ListenerRegistry<ValidationCallback> validationCallbacks;
+    private final ListenerRegistry<OnCheckedChangeListener> checkedListeners = new ListenerRegistry<>();
 
     public CheckBoxView(Context context) {
         this(context, null);
@@ -61,40 +108,112 @@ public class CheckBoxView extends LinearLayoutCompat {
         initializeView();
     }
 
+    public CheckBoxView(Context context, boolean lightweightGlyph) {
+        super(context);
+        setSaveEnabled(true);
+        readAttributes(context, null);
+        setFlag(FLAG_LIGHTWEIGHT_GLYPH, lightweightGlyph);
+        initializeView();
+    }
+
     public void addValidationCallback(ValidationCallback validationCallback) {
-        validationCallbacks.add(validationCallback);
+        obtainValidationCallbacks().add(validationCallback);
     }
 
     public void addOrReplaceValidationCallback(ValidationCallback validationCallback) {
-        validationCallbacks.remove(validationCallback);
-        validationCallbacks.add(validationCallback);
+        ListenerRegistry<ValidationCallback> callbacks = obtainValidationCallbacks();
+        callbacks.remove(validationCallback);
+        callbacks.add(validationCallback);
+    }
+
+    public void addValidationCallback(ValidationCallback validationCallback, LifecycleOwner lifecycleOwner) {
+        obtainValidationCallbacks().add(validationCallback, lifecycleOwner);
     }
 
     public void removeValidationCallback(ValidationCallback validationCallback) {
-        validationCallbacks.remove(validationCallback);
+        if (validationCallbacks != null)
+            validationCallbacks.remove(validationCallback);
     }
 
     public void setOnCheckedListener(OnCheckedChangeListener listener) {
+        if (onCheckedChangeListener != null)
+            checkedListeners.remove(onCheckedChangeListener);
         onCheckedChangeListener = listener;
+        if (listener != null)
+            checkedListeners.add(listener);
+    }
+
+    public void addOnCheckedListener(OnCheckedChangeListener listener) {
+        checkedListeners.add(listener);
+    }
+
+    public void addOnCheckedListener(OnCheckedChangeListener listener, LifecycleOwner lifecycleOwner) {
+        checkedListeners.add(listener, lifecycleOwner);
+    }
+
+    public void addWeakOnCheckedListener(OnCheckedChangeListener listener) {
+        checkedListeners.addWeak(listener);
+    }
+
+    public void removeOnCheckedListener(OnCheckedChangeListener listener) {
+        if (listener == onCheckedChangeListener)
+            onCheckedChangeListener = null;
+        checkedListeners.remove(listener);
+    }
+
+    public void setLifecycleOwner(LifecycleOwner lifecycleOwner) {
+        if (lifecycleGate == null && lifecycleOwner == null)
+            return;
+        if (lifecycleGate == null)
+            lifecycleGate = new LifecycleGate(this::onLifecycleActivated);
+        lifecycleGate.setLifecycleOwner(lifecycleOwner);
+    }
+
+    void setOnGroupCheckedListener(OnCheckedChangeListener listener) {
+        onGroupCheckedListener = listener;
+    }
+
+    public void setSelectionStore(SelectionStore selectionStore, int key) {
+        if (this.selectionStore != null)
+            this.selectionStore.setSelected(selectionStoreKey, false);
+        this.selectionStore = selectionStore;
+        this.selectionStoreKey = key;
+        publishSelection();
+    }
+
+    public SelectionStore getSelectionStore() {
+        return selectionStore;
+    }
+
+    public SelectionEventStream getSelectionEvents() {
+        if (selectionEventStream == null)
+            selectionEventStream = new SelectionEventStream();
+        return selectionEventStream;
     }
 
     @Override
     public void setEnabled(boolean enabled) {
         super.setEnabled(enabled);
-        this.enabled = enabled;
+        setFlag(FLAG_ENABLED, enabled);
         textView.setEnabled(enabled);
-        checkBox.setEnabled(enabled);
-        iconView.setEnabled(enabled);
+        checkableView.setEnabled(enabled);
+        if (iconView != null)
+            iconView.setEnabled(enabled);
     }
 
     @Override
     public boolean isEnabled() {
-        return enabled;
+        return hasFlag(FLAG_ENABLED);
     }
 
     public void setText(String text) {
         this.text = text;
-        textView.setText(text);
+        accessibilityText = null;
+        PrecomputedLabelCache.setText(textView, text, textPrecomputeExecutor);
+    }
+
+    public void setTextPrecomputeExecutor(Executor textPrecomputeExecutor) {
+        this.textPrecomputeExecutor = textPrecomputeExecutor;
     }
 
     public void setIcon(Drawable icon) {
@@ -102,29 +221,57 @@ public class CheckBoxView extends LinearLayoutCompat {
     }
 
     public void setIcon(Drawable icon, Drawable iconBackground) {
+        cancelIconRequest();
+        this.iconSource = null;
         this.icon = icon;
         this.iconBackground = iconBackground;
         setupIconView();
     }
 
+    public void setIconSource(IconSource iconSource) {
+        setIconSource(iconSource, null);
+    }
+
+    public void setIconSource(IconSource iconSource, Drawable placeholder) {
+        cancelIconRequest();
+        this.iconSource = iconSource;
+        setFlag(FLAG_ICON_SOURCE_LOADED, false);
+        this.icon = placeholder;
+        setupIconView();
+        loadIconSource();
+    }
+
+    public IconSource getIconSource() {
+        return iconSource;
+    }
+
     public void setIconScaleType(ScaleType iconScaleType) {
-        this.iconScaleType = iconScaleType;
-        iconView.setScaleType(iconScaleType);
+        flags = (flags & ~ICON_SCALE_TYPE_MASK) | (iconScaleType.ordinal() << ICON_SCALE_TYPE_SHIFT);
+        if (iconView != null)
+            iconView.setScaleType(iconScaleType);
+    }
+
+    public ScaleType getIconScaleType() {
+        return SCALE_TYPES[(flags & ICON_SCALE_TYPE_MASK) >>> ICON_SCALE_TYPE_SHIFT];
     }
 
     public void setIconBackground(Drawable iconBackground) {
         this.iconBackground = iconBackground;
-        iconView.setBackground(iconBackground);
+        if (iconView != null)
+            iconView.setBackground(iconBackground);
     }
 
     public void setTextSize(int textSize) {
         this.textSize = textSize;
         textView.setTextSize(textSize);
+        if (textPrecomputeExecutor != null)
+            PrecomputedLabelCache.setText(textView, text, textPrecomputeExecutor);
     }
 
     public void setStartIconSize(int startIconSize) {
         this.startIconSize = startIconSize;
         setupStartIconSize();
+        reloadIconSource();
     }
 
     public void setTextSpacing(int textSpacing) {
@@ -138,39 +285,104 @@ public class CheckBoxView extends LinearLayoutCompat {
     }
 
     public void setChecked(boolean newValue) {
-        if (newValue == checked)
+        if (newValue == isChecked())
             return;
-        checked = newValue;
-        checkBox.setChecked(newValue);
-        if (onCheckedChangeListener != null)
-            onCheckedChangeListener.execute(this, checked);
-        if (dataBindingCheckChangeListener != null)
-            dataBindingCheckChangeListener.execute(this, checked);
+        setFlag(FLAG_CHECKED, newValue);
+        accessibilityText = null;
+        setFlag(FLAG_CHECKED_CHANGE_IN_PROGRESS, true);
+        setCheckableViewChecked(newValue);
+        setFlag(FLAG_CHECKED_CHANGE_IN_PROGRESS, false);
+        publishSelection();
+        boolean active = lifecycleGate == null || lifecycleGate.isActive();
+        if (!active && !hasFlag(FLAG_CHECKED_DELIVERY_PENDING)) {
+            setFlag(FLAG_CHECKED_DELIVERY_PENDING, true);
+            setFlag(FLAG_DELIVERED_CHECKED, !newValue);
+        }
+        if (selectionEventStream != null)
+            selectionEventStream.publish(this, getId(), newValue);
+        if (active)
+            dispatchCheckedChanged();
+        else
+            checkableView.jumpDrawablesToCurrentState();
+        if (onGroupCheckedListener != null)
+            onGroupCheckedListener.execute(this, newValue);
         validate();
     }
 
     public void setValidationEnabled(boolean validationEnabled) {
-        this.validationEnabled = validationEnabled;
+        setFlag(FLAG_VALIDATION_ENABLED, validationEnabled);
         validate();
     }
 
     public void setErrorText(String errorText) {
         this.errorText = errorText;
-        errorTextView.setText(errorText);
+        accessibilityText = null;
+        if (errorTextView != null)
+            errorTextView.setText(errorText);
     }
 
     public void setIconPadding(int left, int top, int right, int bottom) {
-        iconPadding = new int[]{left, top, right, bottom};
-        iconView.setPadding(left, top, right, bottom);
+        iconPaddingLeft = left;
+        iconPaddingTop = top;
+        iconPaddingRight = right;
+        iconPaddingBottom = bottom;
+        if (iconView != null)
+            iconView.setPadding(left, top, right, bottom);
+        reloadIconSource();
+    }
+
+    public void setFixedHeightEnabled(boolean fixedHeight) {
+        if (isFixedHeightEnabled() == fixedHeight)
+            return;
+        setFlag(FLAG_FIXED_HEIGHT, fixedHeight);
+        setupFixedHeightMode();
+    }
+
+    public boolean isFixedHeightEnabled() {
+        return hasFlag(FLAG_FIXED_HEIGHT);
+    }
+
+    public void setGlyphTintList(ColorStateList tintList) {
+        if (glyphView != null)
+            glyphView.setGlyphTintList(tintList);
+    }
+
+    public boolean isLightweightGlyphEnabled() {
+        return hasFlag(FLAG_LIGHTWEIGHT_GLYPH);
+    }
+
+    public boolean isLeanModeEnabled() {
+        return hasFlag(FLAG_LEAN_MODE);
+    }
+
+    public void setStaticSnapshotEnabled(boolean staticSnapshotEnabled) {
+        if (staticSnapshotEnabled == (staticSnapshot != null))
+            return;
+        if (staticSnapshot != null)
+            staticSnapshot.invalidate();
+        staticSnapshot = staticSnapshotEnabled ? new StaticRowSnapshot() : null;
+        invalidate();
+    }
+
+    public boolean isStaticSnapshotEnabled() {
+        return staticSnapshot != null;
     }
 
     public void setTextPosition(TextPosition textPosition) {
-        this.textPosition = textPosition;
+        if (getTextPosition() == textPosition)
+            return;
+        flags = (flags & ~TEXT_POSITION_MASK) | (textPosition.value << TEXT_POSITION_SHIFT);
         setupViewsOrder();
+        setupIconSpacing();
+        setupTextSpacing();
+    }
+
+    public TextPosition getTextPosition() {
+        return TextPosition.valueOf((flags & TEXT_POSITION_MASK) >>> TEXT_POSITION_SHIFT);
     }
 
     public boolean isChecked() {
-        return checked;
+        return hasFlag(FLAG_CHECKED);
     }
 
     public String getText() {
@@ -186,7 +398,7 @@ public class CheckBoxView extends LinearLayoutCompat {
     }
 
     public boolean isValidationEnabled() {
-        return validationEnabled;
+        return hasFlag(FLAG_VALIDATION_ENABLED);
     }
 
     public int getTextSize() {
@@ -207,15 +419,21 @@ public class CheckBoxView extends LinearLayoutCompat {
 
     public boolean validate() {
         boolean isValid = true;
-        if (validationEnabled && isEnabled()) {
-            for (ValidationCallback validationCallback : validationCallbacks)
-                isValid &= validationCallback.execute(isChecked());
+        if (validationCallbacks != null && isValidationEnabled() && isEnabled()) {
+            Object[] callbacks = validationCallbacks.entries();
+            for (int i = 0; i < callbacks.length; i++) {
+                ValidationCallback validationCallback = validationCallbacks.get(callbacks[i]);
+                if (validationCallback != null)
+                    isValid &= validationCallback.execute(isChecked());
+            }
+            validationCallbacks.pruneIfNeeded();
         }
         if (!isValid) {
             setErrorEnabled(true);
         } else {
             setErrorEnabled(false);
-            setErrorText(null);
+            if (errorText != null)
+                setErrorText(null);
         }
         return isValid;
     }
@@ -233,124 +451,436 @@ public class CheckBoxView extends LinearLayoutCompat {
 
     @InverseBindingAdapter(attribute = "CBV_Checked", event = "CBV_CheckedAttributeChanged")
     public static Boolean getSelectableChecked(CheckBoxView view) {
-        return view.checked;
+        return view.isChecked();
     }
 
     @BindingAdapter("CBV_CheckedAttributeChanged")
     public static void setListeners(CheckBoxView view, final InverseBindingListener attrChange) {
-        view.checkBox.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            if (view.onCheckedChangeListener != null)
-                view.onCheckedChangeListener.execute(view, isChecked);
-            attrChange.onChange();
-        });
+        if (view.inverseBindingNotifier != null)
+            view.inverseBindingNotifier.cancel();
+        view.inverseBindingNotifier = attrChange == null ? null : new FrameCoalescedNotifier(attrChange);
     }
 
     private void initializeView() {
         setOrientation(VERTICAL);
         setClickable(true);
-        inflate(getContext(), R.layout.checkbox_selectable_view, this);
-        setOnClickListener(v -> checkBox.toggle());
+        inflate(getContext(), isLightweightGlyphEnabled() ? R.layout.checkbox_selectable_view_glyph : R.layout.checkbox_selectable_view, this);
+        setOnClickListener(v -> setChecked(!isChecked()));
         checkboxWrapper = findViewById(R.id.checkboxWrapper);
         iconView = findViewById(R.id.selectableIconImageView);
         textView = findViewById(R.id.selectableTextView);
         errorTextView = findViewById(R.id.errorTextView);
-        checkBox = findViewById(R.id.selectableCheckableView);
+        checkableView = findViewById(R.id.selectableCheckableView);
+        if (isLightweightGlyphEnabled())
+            glyphView = (SelectionGlyphView) checkableView;
+        else
+            checkBox = (MaterialCheckBox) checkableView;
+        if (isLeanModeEnabled())
+            releaseUnusedViews();
         setupViews();
     }
 
+    @Override
+    public void requestLayout() {
+        if (!hasFlag(FLAG_CHECKED_CHANGE_IN_PROGRESS))
+            invalidateMeasureCache();
+        invalidateStaticSnapshot();
+        super.requestLayout();
+    }
+
+    @Override
+    public void invalidate() {
+        invalidateStaticSnapshot();
+        super.invalidate();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void invalidate(Rect dirty) {
+        invalidateStaticSnapshot();
+        super.invalidate(dirty);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void invalidate(int l, int t, int r, int b) {
+        invalidateStaticSnapshot();
+        super.invalidate(l, t, r, b);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public ViewParent invalidateChildInParent(int[] location, Rect dirty) {
+        invalidateStaticSnapshot();
+        return super.invalidateChildInParent(location, dirty);
+    }
+
+    @Override
+    @RequiresApi(api = Build.VERSION_CODES.O)
+    public void onDescendantInvalidated(View child, View target) {
+        invalidateStaticSnapshot();
+        super.onDescendantInvalidated(child, target);
+    }
+
+    @Override
+    protected void drawableStateChanged() {
+        super.drawableStateChanged();
+        invalidateStaticSnapshot();
+    }
+
+    @Override
+    public boolean onRequestSendAccessibilityEvent(View child, AccessibilityEvent event) {
+        return AccessibilityBatch.shouldSend(event) && super.onRequestSendAccessibilityEvent(child, event);
+    }
+
+    @Override
+    public void onInitializeAccessibilityEvent(AccessibilityEvent event) {
+        super.onInitializeAccessibilityEvent(event);
+        event.setClassName(CheckBox.class.getName());
+        event.setChecked(isChecked());
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        if (accessibilityText == null)
+            accessibilityText = hasFlag(FLAG_ERROR_ENABLED) && errorText != null && !errorText.isEmpty() ? text + ", " + errorText : text;
+        info.setClassName(CheckBox.class.getName());
+        info.setCheckable(true);
+        info.setChecked(isChecked());
+        info.setText(accessibilityText);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        registerWithNestingGroup();
+        loadIconSource();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (nestedGroup != null) {
+            nestedGroup.unregisterNestedBox(this);
+            nestedGroup = null;
+        }
+        if (inverseBindingNotifier != null)
+            inverseBindingNotifier.flush();
+        invalidateStaticSnapshot();
+        cancelIconRequest();
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        if (staticSnapshot == null || !staticSnapshot.draw(this, canvas, this::drawChildren))
+            super.dispatchDraw(canvas);
+    }
+
+    private void drawChildren(Canvas canvas) {
+        super.dispatchDraw(canvas);
+    }
+
+    private void registerWithNestingGroup() {
+        ViewParent parent = getParent();
+        if (parent instanceof CheckBoxGroup)
+            return;
+        for (; parent != null; parent = parent.getParent()) {
+            if (parent instanceof CheckBoxGroup) {
+                nestedGroup = (CheckBoxGroup) parent;
+                nestedGroup.registerNestedBox(this);
+                return;
+            }
+        }
+    }
+
+    private void invalidateStaticSnapshot() {
+        if (staticSnapshot != null)
+            staticSnapshot.invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (!isFixedHeightEnabled() || MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        if (hasFlag(FLAG_MEASURE_CACHE_VALID) && cachedWidthMeasureSpec == widthMeasureSpec && cachedHeightMeasureSpec == heightMeasureSpec) {
+            setMeasuredDimension(width, resolveSize(cachedMeasuredHeight, heightMeasureSpec));
+            return;
+        }
+        int contentWidth = Math.max(0, width - getPaddingLeft() - getPaddingRight());
+        int rowHeight = computeFixedRowHeight();
+        checkboxWrapper.measure(
+                MeasureSpec.makeMeasureSpec(contentWidth, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(rowHeight, MeasureSpec.EXACTLY)
+        );
+        int height = getPaddingTop() + rowHeight + getPaddingBottom();
+        if (errorTextView != null && errorTextView.getVisibility() != GONE) {
+            errorTextView.measure(
+                    MeasureSpec.makeMeasureSpec(contentWidth, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
+            );
+            height += errorTextView.getMeasuredHeight();
+        }
+        cachedWidthMeasureSpec = widthMeasureSpec;
+        cachedHeightMeasureSpec = heightMeasureSpec;
+        cachedMeasuredHeight = height;
+        setFlag(FLAG_MEASURE_CACHE_VALID, true);
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    private void invalidateMeasureCache() {
+        setFlag(FLAG_MEASURE_CACHE_VALID, false);
+        checkableViewHeight = -1;
+    }
+
+    private int computeFixedRowHeight() {
+        int height = textView.getLineHeight() + textView.getPaddingTop() + textView.getPaddingBottom();
+        if (iconView != null && iconView.getVisibility() != GONE) {
+            MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
+            height = Math.max(height, startIconSize + params.topMargin + params.bottomMargin);
+        }
+        if (checkableViewHeight < 0) {
+            int unspecified = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+            checkableView.measure(unspecified, unspecified);
+            checkableViewHeight = checkableView.getMeasuredHeight();
+        }
+        height = Math.max(height, checkableViewHeight);
+        return height + checkboxWrapper.getPaddingTop() + checkboxWrapper.getPaddingBottom();
+    }
+
     private void setupViews() {
+        accessibilityText = null;
+        textView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+        checkableView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
         textView.setEnabled(isEnabled());
-        checkBox.setEnabled(isEnabled());
-        iconView.setEnabled(isEnabled());
+        checkableView.setEnabled(isEnabled());
+        if (iconView != null) {
+            iconView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+            iconView.setEnabled(isEnabled());
+        }
+        if (errorTextView != null)
+            errorTextView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
         setupViewsOrder();
         setupIconView();
         setupTextView();
         setupErrorTextView();
+        setupFixedHeightMode();
         setupCheckboxView();
     }
 
     private void setupViewsOrder() {
-        int childCount = checkboxWrapper.getChildCount();
-        switch (textPosition) {
-            case START:
-                if (checkboxWrapper.getChildAt(0) instanceof MaterialCheckBox) {
-                    checkboxWrapper.removeViewAt(0);
-                    addView(checkBox, childCount - 1);
-                }
-                break;
-            case END:
-                if (!(getChildAt(0) instanceof MaterialCheckBox)) {
-                    checkboxWrapper.removeViewAt(childCount - 1);
-                    checkboxWrapper.addView(checkBox, 0);
-                }
-                break;
+        checkboxWrapper.setLastChildLeading(getTextPosition() == TextPosition.END);
+    }
+
+    private void dispatchCheckedChanged() {
+        boolean checked = isChecked();
+        Object[] listeners = checkedListeners.entries();
+        if (inverseBindingNotifier != null)
+            inverseBindingNotifier.notifyChanged();
+        for (int i = 0; i < listeners.length; i++) {
+            OnCheckedChangeListener listener = checkedListeners.get(listeners[i]);
+            if (listener != null)
+                listener.execute(this, checked);
         }
+        checkedListeners.pruneIfNeeded();
+    }
+
+    private void onLifecycleActivated() {
+        if (!hasFlag(FLAG_CHECKED_DELIVERY_PENDING))
+            return;
+        setFlag(FLAG_CHECKED_DELIVERY_PENDING, false);
+        if (hasFlag(FLAG_DELIVERED_CHECKED) != isChecked())
+            dispatchCheckedChanged();
     }
 
-    private void setErrorEnabled(Boolean errorEnabled) {
-        if (this.errorEnabled != errorEnabled) {
-            this.errorEnabled = errorEnabled;
-            errorTextView.setVisibility(this.errorEnabled ? VISIBLE : GONE);
+    private void publishSelection() {
+        if (selectionStore != null)
+            selectionStore.setSelected(selectionStoreKey, isChecked());
+    }
+
+    private void setErrorEnabled(boolean errorEnabled) {
+        if (hasFlag(FLAG_ERROR_ENABLED) != errorEnabled) {
+            setFlag(FLAG_ERROR_ENABLED, errorEnabled);
+            accessibilityText = null;
+            invalidateMeasureCache();
+            if (errorEnabled)
+                obtainErrorTextView().setVisibility(VISIBLE);
+            else if (errorTextView != null)
+                errorTextView.setVisibility(GONE);
         }
     }
 
+    private void loadIconSource() {
+        if (iconSource == null || hasFlag(FLAG_ICON_SOURCE_LOADED) || iconRequest != null || !isAttachedToWindow())
+            return;
+        int width = Math.max(1, startIconSize - iconPaddingLeft - iconPaddingRight);
+        int height = Math.max(1, startIconSize - iconPaddingTop - iconPaddingBottom);
+        iconRequest = IconLoader.load(getContext(), iconSource, width, height, bitmap -> {
+            iconRequest = null;
+            setFlag(FLAG_ICON_SOURCE_LOADED, true);
+            if (bitmap == null)
+                return;
+            icon = new BitmapDrawable(getResources(), bitmap);
+            setupIconView();
+        });
+    }
+
+    private void reloadIconSource() {
+        if (iconSource == null)
+            return;
+        cancelIconRequest();
+        setFlag(FLAG_ICON_SOURCE_LOADED, false);
+        loadIconSource();
+    }
+
+    private void cancelIconRequest() {
+        if (iconRequest == null)
+            return;
+        iconRequest.cancel();
+        iconRequest = null;
+    }
+
     private void setupIconView() {
-        LayoutParams params = (LayoutParams) iconView.getLayoutParams();
+        if (iconView == null && icon == null)
+            return;
+        obtainIconView();
+        MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
         params.width = startIconSize;
         params.height = startIconSize;
         iconView.setVisibility(icon != null ? VISIBLE : GONE);
         iconView.setLayoutParams(params);
-        iconView.setScaleType(iconScaleType);
+        iconView.setScaleType(getIconScaleType());
         iconView.setImageDrawable(icon);
-        iconView.setPadding(iconPadding[0], iconPadding[1], iconPadding[2], iconPadding[3]);
+        iconView.setPadding(iconPaddingLeft, iconPaddingTop, iconPaddingRight, iconPaddingBottom);
         iconView.setBackground(iconBackground);
         setupIconSpacing();
     }
 
     private void setupErrorTextView() {
+        boolean errorEnabled = hasFlag(FLAG_ERROR_ENABLED);
+        if (errorTextView == null && !errorEnabled)
+            return;
+        obtainErrorTextView();
         errorTextView.setText(errorText);
         errorTextView.setVisibility(errorEnabled ? VISIBLE : GONE);
     }
 
+    private void releaseUnusedViews() {
+        if (icon == null && iconSource == null) {
+            checkboxWrapper.removeView(iconView);
+            iconView = null;
+        }
+        if (!hasFlag(FLAG_ERROR_ENABLED)) {
+            removeView(errorTextView);
+            errorTextView = null;
+        }
+    }
+
+    private AppCompatImageView obtainIconView() {
+        if (iconView != null)
+            return iconView;
+        iconView = new AppCompatImageView(getContext());
+        iconView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+        iconView.setEnabled(isEnabled());
+        checkboxWrapper.addView(iconView, 0, new SelectableRowLayout.LayoutParams(startIconSize, startIconSize));
+        return iconView;
+    }
+
+    private AppCompatTextView obtainErrorTextView() {
+        if (errorTextView != null)
+            return errorTextView;
+        int padding = getResources().getDimensionPixelSize(R.dimen.checkable_error_text_padding);
+        errorTextView = new AppCompatTextView(getContext());
+        errorTextView.setIncludeFontPadding(false);
+        errorTextView.setPaddingRelative(padding, 0, padding, 0);
+        errorTextView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+        TextViewCompat.setTextAppearance(errorTextView, R.style.ErrorTextAppearance);
+        errorTextView.setText(errorText);
+        errorTextView.setVisibility(GONE);
+        addView(errorTextView, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
+        return errorTextView;
+    }
+
+    private ListenerRegistry<ValidationCallback> obtainValidationCallbacks() {
+        if (validationCallbacks == null)
+            validationCallbacks = new ListenerRegistry<>();
+        return validationCallbacks;
+    }
+
+    private boolean hasFlag(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    private void setFlag(int flag, boolean value) {
+        flags = value ? flags | flag : flags & ~flag;
+    }
+
     private void setupTextView() {
-        textView.setText(text);
         textView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
         textView.setClickable(false);
         textView.setIncludeFontPadding(false);
+        PrecomputedLabelCache.setText(textView, text, textPrecomputeExecutor);
         setupTextSpacing();
     }
 
     private void setupIconSpacing() {
-        LayoutParams params = (LayoutParams) iconView.getLayoutParams();
-        switch (textPosition) {
+        if (iconView == null)
+            return;
+        MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
+        switch (getTextPosition()) {
             case START:
+                params.setMarginStart(0);
                 params.setMarginEnd(iconSpacing);
                 break;
             case END:
                 params.setMarginStart(iconSpacing);
+                params.setMarginEnd(0);
                 break;
         }
         iconView.setLayoutParams(params);
     }
 
     private void setupTextSpacing() {
-        switch (textPosition) {
+        switch (getTextPosition()) {
             case START:
-                textView.setPadding(textView.getPaddingLeft(), textView.getPaddingTop(), textSpacing, textView.getPaddingBottom());
+                textView.setPaddingRelative(0, textView.getPaddingTop(), textSpacing, textView.getPaddingBottom());
                 break;
             case END:
-                textView.setPadding(textSpacing, textView.getPaddingTop(), textView.getPaddingRight(), textView.getPaddingBottom());
+                textView.setPaddingRelative(textSpacing, textView.getPaddingTop(), 0, textView.getPaddingBottom());
                 break;
         }
     }
 
     private void setupCheckboxView() {
-        checkBox.setChecked(checked);
+        if (glyphView != null) {
+            glyphView.setAnimationEnabled(hasFlag(FLAG_GLYPH_ANIMATED));
+            glyphView.setChecked(isChecked());
+            glyphView.jumpDrawablesToCurrentState();
+            return;
+        }
+        checkBox.setChecked(isChecked());
         checkBox.setOnCheckedChangeListener((buttonView, isChecked) -> setChecked(isChecked));
     }
 
+    private void setCheckableViewChecked(boolean checked) {
+        if (glyphView != null)
+            glyphView.setChecked(checked);
+        else
+            checkBox.setChecked(checked);
+    }
+
+    private void setupFixedHeightMode() {
+        textView.setMaxLines(isFixedHeightEnabled() ? 1 : Integer.MAX_VALUE);
+        invalidateMeasureCache();
+    }
+
     private void setupStartIconSize() {
-        LayoutParams params = (LayoutParams) iconView.getLayoutParams();
+        if (iconView == null)
+            return;
+        MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
         params.width = startIconSize;
         params.height = startIconSize;
         iconView.setLayoutParams(params);
@@ -363,26 +893,33 @@ public class CheckBoxView extends LinearLayoutCompat {
             iconBackground = a.getDrawable(R.styleable.CheckBoxView_CBV_IconBackground);
             text = StringUtils.getOrDefault(a.getString(R.styleable.CheckBoxView_CBV_Text), "Text");
             errorText = a.getString(R.styleable.CheckBoxView_CBV_ErrorText);
-            checked = a.getBoolean(R.styleable.CheckBoxView_CBV_Checked, false);
-            validationEnabled = a.getBoolean(R.styleable.CheckBoxView_CBV_ValidationEnabled, false);
-            enabled = a.getBoolean(R.styleable.CheckBoxView_CBV_Enabled, true);
+            setFlag(FLAG_CHECKED, a.getBoolean(R.styleable.CheckBoxView_CBV_Checked, false));
+            setFlag(FLAG_VALIDATION_ENABLED, a.getBoolean(R.styleable.CheckBoxView_CBV_ValidationEnabled, false));
+            setFlag(FLAG_ENABLED, a.getBoolean(R.styleable.CheckBoxView_CBV_Enabled, true));
+            setFlag(FLAG_FIXED_HEIGHT, a.getBoolean(R.styleable.CheckBoxView_CBV_FixedHeight, false));
+            setFlag(FLAG_LIGHTWEIGHT_GLYPH, a.getBoolean(R.styleable.CheckBoxView_CBV_LightweightGlyph, false));
+            setFlag(FLAG_GLYPH_ANIMATED, a.getBoolean(R.styleable.CheckBoxView_CBV_GlyphAnimated, false));
+            setFlag(FLAG_LEAN_MODE, a.getBoolean(R.styleable.CheckBoxView_CBV_LeanMode, false));
+            if (a.getBoolean(R.styleable.CheckBoxView_CBV_StaticSnapshot, false))
+                staticSnapshot = new StaticRowSnapshot();
             startIconSize = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconSize, ResourceUtils.getDimenPxById(context, R.dimen.checkable_icon_default_size));
             textSize = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_TextSize, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_text_size));
             textSpacing = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_TextSpacing, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_text_spacing));
             iconSpacing = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconSpacing, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
-            textPosition = TextPosition.valueOf(a.getInt(R.styleable.CheckBoxView_CBV_TextPosition, TextPosition.START.value));
-            ScaleType[] scaleTypes = ScaleType.values();
-            iconScaleType = scaleTypes[a.getInt(R.styleable.CheckBoxView_CBV_IconScaleType, 7)];
+            flags |= a.getInt(R.styleable.CheckBoxView_CBV_TextPosition, TextPosition.START.value) << TEXT_POSITION_SHIFT;
+            flags |= a.getInt(R.styleable.CheckBoxView_CBV_IconScaleType, 7) << ICON_SCALE_TYPE_SHIFT;
             boolean hasGlobalIconPadding = a.hasValue(R.styleable.CheckBoxView_CBV_IconPadding);
             if (hasGlobalIconPadding) {
                 int textPadding = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPadding, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
-                iconPadding = new int[]{textPadding, textPadding, textPadding, textPadding};
+                iconPaddingLeft = textPadding;
+                iconPaddingTop = textPadding;
+                iconPaddingRight = textPadding;
+                iconPaddingBottom = textPadding;
             } else {
-                int left = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingStart, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
-                int top = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingTop, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
-                int right = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingEnd, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
-                int bottom = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingBottom, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
-                iconPadding = new int[]{left, top, right, bottom};
+                iconPaddingLeft = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingStart, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
+                iconPaddingTop = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingTop, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
+                iconPaddingRight = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingEnd, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
+                iconPaddingBottom = a.getDimensionPixelSize(R.styleable.CheckBoxView_CBV_IconPaddingBottom, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_icon_spacing));
             }
         } finally {
             a.recycle();
@@ -403,17 +940,13 @@ public class CheckBoxView extends LinearLayoutCompat {
     public Parcelable onSaveInstanceState() {
         Parcelable superState = super.onSaveInstanceState();
         SavedState myState = new SavedState(superState);
-        myState.isChecked = checked;
-        myState.validationEnabled = validationEnabled;
-        myState.errorEnabled = errorEnabled;
-        myState.enabled = enabled;
+        myState.stateFlags = flags & SAVED_FLAGS;
         myState.textSize = textSize;
         myState.startIconSize = startIconSize;
-        myState.textPosition = textPosition.value;
         myState.textSpacing = textSpacing;
         myState.iconSpacing = iconSpacing;
+        myState.iconPadding = new int[]{iconPaddingLeft, iconPaddingTop, iconPaddingRight, iconPaddingBottom};
         myState.text = text;
-        myState.iconScaleType = iconScaleType.name();
         myState.errorText = errorText;
         return myState;
     }
@@ -422,35 +955,30 @@ public class CheckBoxView extends LinearLayoutCompat {
     public void onRestoreInstanceState(Parcelable state) {
         SavedState savedState = (SavedState) state;
         super.onRestoreInstanceState(savedState.getSuperState());
-        checked = savedState.isChecked;
-        validationEnabled = savedState.validationEnabled;
-        errorEnabled = savedState.errorEnabled;
-        enabled = savedState.enabled;
+        flags = (flags & ~SAVED_FLAGS) | savedState.stateFlags;
         textSize = savedState.textSize;
         startIconSize = savedState.startIconSize;
         textSpacing = savedState.textSpacing;
         iconSpacing = savedState.iconSpacing;
-        textPosition = TextPosition.valueOf(savedState.textPosition);
+        iconPaddingLeft = savedState.iconPadding[0];
+        iconPaddingTop = savedState.iconPadding[1];
+        iconPaddingRight = savedState.iconPadding[2];
+        iconPaddingBottom = savedState.iconPadding[3];
         text = savedState.text;
-        iconScaleType = ScaleType.valueOf(savedState.iconScaleType);
         errorText = savedState.errorText;
         setupViews();
+        publishSelection();
     }
 
     private static class SavedState extends BaseSavedState {
-        private boolean isChecked;
-        private boolean validationEnabled;
-        private boolean errorEnabled;
-        private boolean enabled;
+        private int stateFlags;
         private int textSize;
         private int textSpacing;
         private int iconSpacing;
         private int startIconSize;
-        private int textPosition;
-        private int[] IconPadding;
+        private int[] iconPadding;
         private String text;
         private String errorText;
-        private String iconScaleType;
 
         SavedState(Parcelable superState) {
             super(superState);
@@ -458,37 +986,27 @@ public class CheckBoxView extends LinearLayoutCompat {
 
         private SavedState(Parcel in) {
             super(in);
-            isChecked = in.readByte() != 0;
-            validationEnabled = in.readByte() != 0;
-            errorEnabled = in.readByte() != 0;
-            enabled = in.readByte() != 0;
+            stateFlags = in.readInt();
             textSize = in.readInt();
             startIconSize = in.readInt();
             textSpacing = in.readInt();
             iconSpacing = in.readInt();
-            textPosition = in.readInt();
+            iconPadding = in.createIntArray();
             text = in.readString();
             errorText = in.readString();
-            iconScaleType = in.readString();
-            in.readIntArray(IconPadding);
         }
 
         @Override
         public void writeToParcel(Parcel out, int flags) {
             super.writeToParcel(out, flags);
-            out.writeByte((byte) (isChecked ? 1 : 0));
-            out.writeByte((byte) (validationEnabled ? 1 : 0));
-            out.writeByte((byte) (errorEnabled ? 1 : 0));
-            out.writeByte((byte) (enabled ? 1 : 0));
+            out.writeInt(stateFlags);
             out.writeInt(textSize);
             out.writeInt(startIconSize);
             out.writeInt(textSpacing);
             out.writeInt(iconSpacing);
-            out.writeInt(textPosition);
+            out.writeIntArray(iconPadding);
             out.writeString(text);
             out.writeString(errorText);
-            out.writeString(iconScaleType);
-            out.writeIntArray(IconPadding);
         }
 
         public static final Creator<SavedState> CREATOR
@@ -0,0 +1,45 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.view.Choreographer;
+
+import java.lang.ref.WeakReference;
+
+import androidx.databinding.InverseBindingListener;
+
+final class FrameCoalescedNotifier implements Choreographer.FrameCallback {
+    private final WeakReference<InverseBindingListener> listener;
+    private boolean scheduled;
+
+    FrameCoalescedNotifier(InverseBindingListener listener) {
+        this.listener = new WeakReference<>(listener);
+    }
+
+    void notifyChanged() {
+        if (scheduled)
+            return;
+        scheduled = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void cancel() {
+        if (!scheduled)
+            return;
+        scheduled = false;
+        Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    void flush() {
+        if (!scheduled)
+            return;
+        cancel();
+        doFrame(0);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        scheduled = false;
+        InverseBindingListener target = listener.get();
+        if (target != null)
+            target.onChange();
+    }
+}
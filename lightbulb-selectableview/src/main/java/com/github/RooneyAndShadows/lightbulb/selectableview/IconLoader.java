@@ -0,0 +1,84 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+final class IconLoader {
+    private static final int MAX_CACHE_BYTES = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, 16 * 1024 * 1024);
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "SelectableIconLoader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(MAX_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    private IconLoader() {
+    }
+
+    static Request load(Context context, IconSource source, int width, int height, Callback callback) {
+        String key = source.getKey() + "@" + width + "x" + height;
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            callback.execute(cached);
+            return null;
+        }
+        Context applicationContext = context.getApplicationContext();
+        Request request = new Request();
+        request.future = executor.submit(() -> {
+            if (request.cancelled)
+                return;
+            Bitmap bitmap = null;
+            try {
+                bitmap = source.decode(applicationContext, width, height);
+            } catch (Exception e) {
+                Log.w(IconLoader.class.getName(), "Failed to decode icon " + source.getKey(), e);
+            }
+            if (bitmap != null)
+                cache.put(key, bitmap);
+            Bitmap result = bitmap;
+            mainHandler.post(() -> {
+                if (!request.cancelled)
+                    callback.execute(result);
+            });
+        });
+        return request;
+    }
+
+    static void clearCache() {
+        cache.evictAll();
+    }
+
+    interface Callback {
+        void execute(Bitmap bitmap);
+    }
+
+    static final class Request {
+        private volatile boolean cancelled;
+        private Future<?> future;
+
+        void cancel() {
+            cancelled = true;
+            if (future != null && future.cancel(false))
+                executor.remove((Runnable) future);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import androidx.appcompat.content.res.AppCompatResources;
+
+@SuppressWarnings("unused")
+public final class IconSource {
+    private static final int TYPE_RESOURCE = 0;
+    private static final int TYPE_FILE = 1;
+    private static final int TYPE_URI = 2;
+    private final int type;
+    private final int resourceId;
+    private final String path;
+    private final Uri uri;
+    private final String key;
+
+    private IconSource(int type, int resourceId, String path, Uri uri, String key) {
+        this.type = type;
+        this.resourceId = resourceId;
+        this.path = path;
+        this.uri = uri;
+        this.key = key;
+    }
+
+    public static IconSource fromResource(int resourceId) {
+        return new IconSource(TYPE_RESOURCE, resourceId, null, null, "res:" + resourceId);
+    }
+
+    public static IconSource fromFile(File file) {
+        return fromFile(file.getAbsolutePath());
+    }
+
+    public static IconSource fromFile(String path) {
+        return new IconSource(TYPE_FILE, 0, path, null, "file:" + path);
+    }
+
+    public static IconSource fromUri(Uri uri) {
+        return new IconSource(TYPE_URI, 0, null, uri, "uri:" + uri);
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    Bitmap decode(Context context, int targetWidth, int targetHeight) throws IOException {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false;
+        decode(context, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0)
+            return type == TYPE_RESOURCE ? rasterize(context, targetWidth, targetHeight) : null;
+        options.inSampleSize = calculateSampleSize(options.outWidth, options.outHeight, targetWidth, targetHeight);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap = decode(context, options);
+        if (bitmap == null)
+            return null;
+        float scale = Math.min((float) targetWidth / bitmap.getWidth(), (float) targetHeight / bitmap.getHeight());
+        if (scale >= 1f)
+            return bitmap;
+        int width = Math.max(1, Math.round(bitmap.getWidth() * scale));
+        int height = Math.max(1, Math.round(bitmap.getHeight() * scale));
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap, width, height, true);
+        if (scaled != bitmap)
+            bitmap.recycle();
+        return scaled;
+    }
+
+    private Bitmap decode(Context context, BitmapFactory.Options options) throws IOException {
+        switch (type) {
+            case TYPE_RESOURCE:
+                return BitmapFactory.decodeResource(context.getResources(), resourceId, options);
+            case TYPE_FILE:
+                return BitmapFactory.decodeFile(path, options);
+            case TYPE_URI:
+            default:
+                try (InputStream stream = context.getContentResolver().openInputStream(uri)) {
+                    return stream == null ? null : BitmapFactory.decodeStream(stream, null, options);
+                }
+        }
+    }
+
+    private Bitmap rasterize(Context context, int targetWidth, int targetHeight) {
+        Drawable drawable = AppCompatResources.getDrawable(context, resourceId);
+        if (drawable == null)
+            return null;
+        Bitmap bitmap = Bitmap.createBitmap(targetWidth, targetHeight, Bitmap.Config.ARGB_8888);
+        drawable.setBounds(0, 0, targetWidth, targetHeight);
+        drawable.draw(new Canvas(bitmap));
+        return bitmap;
+    }
+
+    private static int calculateSampleSize(int width, int height, int targetWidth, int targetHeight) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight)
+            sampleSize *= 2;
+        return sampleSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof IconSource))
+            return false;
+        return key.equals(((IconSource) o).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+final class IndicatorAtlas {
+    private static final int MAX_CACHE_BYTES = 4 * 1024 * 1024;
+    private static final LruCache<Key, Bitmap> cache = new LruCache<Key, Bitmap>(MAX_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(Key key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    private IndicatorAtlas() {
+    }
+
+    static Bitmap obtain(Drawable unselected, Drawable selected, int width, int height, int tint) {
+        Key key = new Key(identityOf(unselected), identityOf(selected), width, height, tint);
+        Bitmap atlas = cache.get(key);
+        if (atlas == null) {
+            atlas = Bitmap.createBitmap(width * 2, height, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(atlas);
+            if (unselected != null) {
+                unselected.setBounds(0, 0, width, height);
+                unselected.draw(canvas);
+            }
+            if (selected != null) {
+                selected.setBounds(width, 0, width * 2, height);
+                selected.draw(canvas);
+            }
+            cache.put(key, atlas);
+        }
+        return atlas;
+    }
+
+    private static Object identityOf(Drawable drawable) {
+        if (drawable == null)
+            return null;
+        Drawable.ConstantState state = drawable.getConstantState();
+        return state != null ? state : drawable;
+    }
+
+    private static final class Key {
+        private final Object unselected;
+        private final Object selected;
+        private final int width;
+        private final int height;
+        private final int tint;
+
+        private Key(Object unselected, Object selected, int width, int height, int tint) {
+            this.unselected = unselected;
+            this.selected = selected;
+            this.width = width;
+            this.height = height;
+            this.tint = tint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return unselected == key.unselected && selected == key.selected && width == key.width && height == key.height && tint == key.tint;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(unselected);
+            result = 31 * result + System.identityHashCode(selected);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            return 31 * result + tint;
+        }
+    }
+
+    static final class StateDrawable extends Drawable {
+        private final Bitmap atlas;
+        private final int cellWidth;
+        private final int cellHeight;
+        private final Rect source = new Rect();
+        private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        private boolean checked;
+
+        StateDrawable(Bitmap atlas, int cellWidth, int cellHeight) {
+            this.atlas = atlas;
+            this.cellWidth = cellWidth;
+            this.cellHeight = cellHeight;
+            source.set(0, 0, cellWidth, cellHeight);
+        }
+
+        void setChecked(boolean checked) {
+            if (this.checked == checked)
+                return;
+            this.checked = checked;
+            int left = checked ? cellWidth : 0;
+            source.set(left, 0, left + cellWidth, cellHeight);
+            invalidateSelf();
+        }
+
+        @Override
+        public void draw(@NonNull Canvas canvas) {
+            canvas.drawBitmap(atlas, source, getBounds(), paint);
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return cellWidth;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return cellHeight;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            paint.setAlpha(alpha);
+            invalidateSelf();
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+            paint.setColorFilter(colorFilter);
+            invalidateSelf();
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+final class LifecycleGate implements LifecycleEventObserver {
+    private final Runnable onActivated;
+    private Lifecycle lifecycle;
+    private boolean active = true;
+
+    LifecycleGate(Runnable onActivated) {
+        this.onActivated = onActivated;
+    }
+
+    void setLifecycleOwner(LifecycleOwner owner) {
+        if (lifecycle != null)
+            lifecycle.removeObserver(this);
+        lifecycle = owner == null ? null : owner.getLifecycle();
+        boolean wasActive = active;
+        active = lifecycle == null || lifecycle.getCurrentState().isAtLeast(Lifecycle.State.STARTED);
+        if (lifecycle != null)
+            lifecycle.addObserver(this);
+        if (active && !wasActive)
+            onActivated.run();
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            source.getLifecycle().removeObserver(this);
+            lifecycle = null;
+            active = true;
+            return;
+        }
+        boolean nowActive = source.getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED);
+        if (nowActive == active)
+            return;
+        active = nowActive;
+        if (active)
+            onActivated.run();
+    }
+}
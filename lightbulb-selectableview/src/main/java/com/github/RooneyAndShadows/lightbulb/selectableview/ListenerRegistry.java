@@ -0,0 +1,142 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import java.lang.ref.WeakReference;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+final class ListenerRegistry<T> {
+    private static final Object[] EMPTY = new Object[0];
+    private Object[] entries = EMPTY;
+    private boolean hasClearedEntries;
+
+    void add(T listener) {
+        append(listener);
+    }
+
+    void addWeak(T listener) {
+        append(new WeakReference<>(listener));
+    }
+
+    void add(T listener, LifecycleOwner owner) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED)
+            return;
+        ScopedEntry entry = new ScopedEntry(this, listener, lifecycle);
+        append(entry);
+        lifecycle.addObserver(entry);
+    }
+
+    boolean remove(T listener) {
+        Object[] current = entries;
+        for (int i = 0; i < current.length; i++) {
+            if (unwrap(current[i]) != listener)
+                continue;
+            if (current[i] instanceof ScopedEntry)
+                ((ScopedEntry) current[i]).detach();
+            removeAt(current, i);
+            return true;
+        }
+        return false;
+    }
+
+    void clear() {
+        Object[] current = entries;
+        for (Object entry : current)
+            if (entry instanceof ScopedEntry)
+                ((ScopedEntry) entry).detach();
+        entries = EMPTY;
+        hasClearedEntries = false;
+    }
+
+    boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    Object[] entries() {
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(Object entry) {
+        T listener = (T) unwrap(entry);
+        if (listener == null)
+            hasClearedEntries = true;
+        return listener;
+    }
+
+    void pruneIfNeeded() {
+        if (!hasClearedEntries)
+            return;
+        hasClearedEntries = false;
+        Object[] current = entries;
+        int alive = 0;
+        for (Object entry : current)
+            if (unwrap(entry) != null)
+                alive++;
+        if (alive == current.length)
+            return;
+        Object[] pruned = alive == 0 ? EMPTY : new Object[alive];
+        int position = 0;
+        for (Object entry : current)
+            if (unwrap(entry) != null)
+                pruned[position++] = entry;
+        entries = pruned;
+    }
+
+    private void append(Object entry) {
+        pruneIfNeeded();
+        Object[] current = entries;
+        Object[] updated = new Object[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = entry;
+        entries = updated;
+    }
+
+    private void removeAt(Object[] current, int index) {
+        if (current.length == 1) {
+            entries = EMPTY;
+            return;
+        }
+        Object[] updated = new Object[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        entries = updated;
+    }
+
+    private static Object unwrap(Object entry) {
+        if (entry instanceof WeakReference)
+            return ((WeakReference<?>) entry).get();
+        if (entry instanceof ScopedEntry)
+            return ((ScopedEntry) entry).listener;
+        return entry;
+    }
+
+    private static final class ScopedEntry implements LifecycleEventObserver {
+        private final ListenerRegistry<?> registry;
+        private final Lifecycle lifecycle;
+        private Object listener;
+
+        private ScopedEntry(ListenerRegistry<?> registry, Object listener, Lifecycle lifecycle) {
+            this.registry = registry;
+            this.listener = listener;
+            this.lifecycle = lifecycle;
+        }
+
+        private void detach() {
+            listener = null;
+            lifecycle.removeObserver(this);
+        }
+
+        @Override
+        public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+            if (event != Lifecycle.Event.ON_DESTROY)
+                return;
+            detach();
+            registry.hasClearedEntries = true;
+            registry.pruneIfNeeded();
+        }
+    }
+}
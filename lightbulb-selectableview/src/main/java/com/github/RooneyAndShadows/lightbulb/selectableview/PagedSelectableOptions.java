@@ -0,0 +1,192 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+@SuppressWarnings("unused")
+public class PagedSelectableOptions {
+    private final DataSource dataSource;
+    private final Executor executor;
+    private final int pageSize;
+    private final int maxLoadedPages;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final TreeMap<Integer, List<SelectableOption>> pages = new TreeMap<>();
+    private final HashSet<Integer> loadingPages = new HashSet<>();
+    private int anchorPage;
+    private int generation;
+    private volatile int count = -1;
+    private OnPagesChangedListener onPagesChangedListener;
+    private OnLoadErrorListener onLoadErrorListener;
+
+    public PagedSelectableOptions(DataSource dataSource, Executor executor, int pageSize, int maxLoadedPages) {
+        if (pageSize <= 0 || maxLoadedPages <= 0)
+            throw new IllegalArgumentException("Page size and loaded pages limit must be positive.");
+        this.dataSource = dataSource;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.maxLoadedPages = maxLoadedPages;
+    }
+
+    public void setOnPagesChangedListener(OnPagesChangedListener onPagesChangedListener) {
+        this.onPagesChangedListener = onPagesChangedListener;
+    }
+
+    public void setOnLoadErrorListener(OnLoadErrorListener onLoadErrorListener) {
+        this.onLoadErrorListener = onLoadErrorListener;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void loadAround(int position) {
+        if (position < 0)
+            return;
+        anchorPage = position / pageSize;
+        requestPage(anchorPage);
+    }
+
+    public void loadPageContaining(int optionId) {
+        int requestGeneration = generation;
+        executor.execute(() -> {
+            int position;
+            try {
+                position = dataSource.getPosition(optionId);
+            } catch (RuntimeException e) {
+                mainHandler.post(() -> onPageLoadFailed(requestGeneration, -1, e));
+                return;
+            }
+            if (position < 0)
+                return;
+            mainHandler.post(() -> {
+                if (requestGeneration != generation)
+                    return;
+                anchorPage = position / pageSize;
+                requestPage(anchorPage);
+            });
+        });
+    }
+
+    public SelectableOption getOption(int position) {
+        List<SelectableOption> page = pages.get(position / pageSize);
+        if (page == null) {
+            loadAround(position);
+            return null;
+        }
+        int index = position % pageSize;
+        return index < page.size() ? page.get(index) : null;
+    }
+
+    public List<SelectableOption> getLoadedOptions() {
+        int firstPage = getWindowFirstPage();
+        if (firstPage < 0)
+            return Collections.emptyList();
+        ArrayList<SelectableOption> options = new ArrayList<>();
+        for (int page = firstPage; pages.containsKey(page); page++)
+            options.addAll(pages.get(page));
+        return options;
+    }
+
+    public int getLoadedStartPosition() {
+        int firstPage = getWindowFirstPage();
+        return firstPage < 0 ? -1 : firstPage * pageSize;
+    }
+
+    public boolean isPageLoaded(int page) {
+        return pages.containsKey(page);
+    }
+
+    public void invalidate() {
+        generation++;
+        pages.clear();
+        loadingPages.clear();
+        anchorPage = 0;
+        count = -1;
+        if (onPagesChangedListener != null)
+            onPagesChangedListener.execute(this);
+    }
+
+    private void requestPage(int page) {
+        if (pages.get(page) != null || loadingPages.contains(page))
+            return;
+        loadingPages.add(page);
+        int requestGeneration = generation;
+        executor.execute(() -> {
+            List<SelectableOption> loaded;
+            try {
+                if (count < 0)
+                    count = dataSource.getCount();
+                loaded = dataSource.load(page * pageSize, pageSize);
+            } catch (RuntimeException e) {
+                mainHandler.post(() -> onPageLoadFailed(requestGeneration, page, e));
+                return;
+            }
+            mainHandler.post(() -> {
+                if (requestGeneration != generation)
+                    return;
+                loadingPages.remove(page);
+                pages.put(page, loaded == null ? Collections.emptyList() : loaded);
+                evictFarthestPages();
+                if (onPagesChangedListener != null)
+                    onPagesChangedListener.execute(this);
+            });
+        });
+    }
+
+    private void onPageLoadFailed(int requestGeneration, int page, RuntimeException error) {
+        if (requestGeneration != generation)
+            return;
+        loadingPages.remove(page);
+        if (onLoadErrorListener == null)
+            Log.w(PagedSelectableOptions.class.getName(), "Failed to load page " + page, error);
+        else
+            onLoadErrorListener.execute(this, page, error);
+    }
+
+    private void evictFarthestPages() {
+        while (pages.size() > maxLoadedPages) {
+            int first = pages.firstKey();
+            int last = pages.lastKey();
+            pages.remove(anchorPage - first > last - anchorPage ? first : last);
+        }
+    }
+
+    private int getWindowFirstPage() {
+        Integer lower = pages.floorKey(anchorPage);
+        Integer upper = pages.ceilingKey(anchorPage);
+        if (lower == null && upper == null)
+            return -1;
+        int page = upper == null || (lower != null && anchorPage - lower <= upper - anchorPage) ? lower : upper;
+        while (pages.containsKey(page - 1))
+            page--;
+        return page;
+    }
+
+    public interface DataSource {
+        int getCount();
+
+        List<SelectableOption> load(int position, int count);
+
+        int getPosition(int optionId);
+    }
+
+    public interface OnPagesChangedListener {
+        void execute(PagedSelectableOptions pagedOptions);
+    }
+
+    public interface OnLoadErrorListener {
+        void execute(PagedSelectableOptions pagedOptions, int page, RuntimeException error);
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.util.LruCache;
+
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.widget.AppCompatTextView;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+final class PrecomputedLabelCache implements LifecycleEventObserver {
+    private static final int MAX_ENTRIES = 512;
+    private static final HashMap<Lifecycle, PrecomputedLabelCache> caches = new HashMap<>();
+    private final LruCache<Key, PrecomputedTextCompat> cache = new LruCache<>(MAX_ENTRIES);
+
+    private PrecomputedLabelCache() {
+    }
+
+    static void setText(AppCompatTextView textView, String text, Executor executor) {
+        textView.setTextFuture(null);
+        if (executor == null || text == null || text.isEmpty()) {
+            textView.setText(text);
+            return;
+        }
+        PrecomputedTextCompat.Params params = textView.getTextMetricsParamsCompat();
+        PrecomputedLabelCache scope = forContext(textView.getContext());
+        Key key = new Key(text, params);
+        PrecomputedTextCompat precomputed = scope == null ? null : scope.cache.get(key);
+        if (precomputed != null) {
+            textView.setPrecomputedText(precomputed);
+            return;
+        }
+        FutureTask<PrecomputedTextCompat> task = new FutureTask<>(() -> {
+            PrecomputedTextCompat result = PrecomputedTextCompat.create(text, params);
+            if (scope != null)
+                scope.cache.put(key, result);
+            return result;
+        });
+        executor.execute(task);
+        textView.setTextFuture(task);
+    }
+
+    static void clear() {
+        for (PrecomputedLabelCache scope : caches.values())
+            scope.cache.evictAll();
+    }
+
+    private static PrecomputedLabelCache forContext(Context context) {
+        while (!(context instanceof LifecycleOwner) && context instanceof ContextWrapper)
+            context = ((ContextWrapper) context).getBaseContext();
+        if (!(context instanceof LifecycleOwner))
+            return null;
+        Lifecycle lifecycle = ((LifecycleOwner) context).getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED)
+            return null;
+        PrecomputedLabelCache scope = caches.get(lifecycle);
+        if (scope == null) {
+            scope = new PrecomputedLabelCache();
+            caches.put(lifecycle, scope);
+            lifecycle.addObserver(scope);
+        }
+        return scope;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event != Lifecycle.Event.ON_DESTROY)
+            return;
+        source.getLifecycle().removeObserver(this);
+        caches.remove(source.getLifecycle());
+        cache.evictAll();
+    }
+
+    private static final class Key {
+        private final String text;
+        private final PrecomputedTextCompat.Params params;
+        private final int hash;
+
+        private Key(String text, PrecomputedTextCompat.Params params) {
+            this.text = text;
+            this.params = params;
+            this.hash = 31 * text.hashCode() + params.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return hash == key.hash && text.equals(key.text) && params.equals(key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
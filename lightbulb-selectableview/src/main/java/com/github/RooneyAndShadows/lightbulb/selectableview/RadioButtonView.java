@@ -1,38 +1,60 @@
 package com.github.rooneyandshadows.lightbulb.selectableview;
 
 import android.content.Context;
+import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.util.SparseArray;
 import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewParent;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.RadioButton;
 import android.widget.ImageView.ScaleType;
 
 import com.github.rooneyandshadows.java.commons.string.StringUtils;
 import com.github.rooneyandshadows.lightbulb.commons.utils.ResourceUtils;
-import com.google.android.material.checkbox.MaterialCheckBox;
 import com.google.android.material.radiobutton.MaterialRadioButton;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Executor;
 
+import androidx.annotation.RequiresApi;
 import androidx.appcompat.widget.AppCompatImageView;
 import androidx.appcompat.widget.AppCompatTextView;
 import androidx.appcompat.widget.LinearLayoutCompat;
 import androidx.databinding.BindingAdapter;
 import androidx.databinding.InverseBindingAdapter;
 import androidx.databinding.InverseBindingListener;
+import androidx.lifecycle.LifecycleOwner;
 
 @SuppressWarnings("unused")
 public class RadioButtonView extends LinearLayoutCompat {
     private Drawable icon;
     private Drawable iconBackground;
+    private IconSource iconSource;
+    private IconLoader.Request iconRequest;
+    private boolean iconSourceLoaded;
     private boolean checked;
     private boolean validationEnabled;
     private boolean errorEnabled;
     private boolean enabled;
+    private boolean fixedHeight;
+    private boolean lightweightGlyph;
+    private boolean glyphAnimated;
+    private boolean measureCacheValid;
+    private boolean checkedChangeInProgress;
+    private int cachedWidthMeasureSpec;
+    private int cachedHeightMeasureSpec;
+    private int cachedMeasuredHeight;
+    private int checkableViewHeight = -1;
     private int textSize;
     private int startIconSize;
     private int textSpacing;
@@ -42,15 +64,29 @@ public class RadioButtonView extends LinearLayoutCompat {
     private String errorText = "";
     private AppCompatImageView iconView;
     private MaterialRadioButton radioButton;
+    private SelectionGlyphView glyphView;
+    private View checkableView;
     private AppCompatTextView textView;
     private AppCompatTextView errorTextView;
     private TextPosition textPosition;
-    private LinearLayoutCompat radioButtonWrapper;
+    private SelectableRowLayout radioButtonWrapper;
     private ScaleType iconScaleType;
     private OnCheckedChangeListener onCheckedChangeListener;
-    private OnCheckedChangeListener dataBindingCheckChangeListener;
+    private FrameCoalescedNotifier inverseBindingNotifier;
+    private SelectionStore selectionStore;
+    private int selectionStoreKey;
+    private SelectionEventStream selectionEventStream;
+    private Executor textPrecomputeExecutor;
+    private StaticRowSnapshot staticSnapshot;
+    private SelectableRadioGroup nestedGroup;
+    private LifecycleGate lifecycleGate;
+    private boolean checkedDeliveryPending;
+    private boolean deliveredChecked;
+    private CharSequence accessibilityText;
     private OnCheckedChangeListener onGroupCheckedListener;
-    private final List<ValidationCallback> validationCallbacks = new ArrayList<>();
+    private SelectableOption boundOption;
+    private final ListenerRegistry<ValidationCallback> validationCallbacks = new ListenerRegistry<>();
+    private final ListenerRegistry<OnCheckedChangeListener> checkedListeners = new ListenerRegistry<>();
 
     public RadioButtonView(Context context) {
         this(context, null);
@@ -63,10 +99,53 @@ public class RadioButtonView extends LinearLayoutCompat {
         initializeView();
     }
 
+    public RadioButtonView(Context context, boolean lightweightGlyph) {
+        super(context);
+        setSaveEnabled(true);
+        readAttributes(context, null);
+        this.lightweightGlyph = lightweightGlyph;
+        initializeView();
+    }
+
+    public void setLifecycleOwner(LifecycleOwner lifecycleOwner) {
+        if (lifecycleGate == null && lifecycleOwner == null)
+            return;
+        if (lifecycleGate == null)
+            lifecycleGate = new LifecycleGate(this::onLifecycleActivated);
+        lifecycleGate.setLifecycleOwner(lifecycleOwner);
+    }
+
     void setOnGroupCheckedListener(OnCheckedChangeListener listener) {
         onGroupCheckedListener = listener;
     }
 
+    void bindOption(SelectableOption option) {
+        if (option.equals(boundOption))
+            return;
+        boundOption = option;
+        setId(option.getId());
+        setText(option.getText());
+        setIcon(option.getIcon());
+        setEnabled(option.isEnabled());
+    }
+
+    void bindChecked(boolean newValue) {
+        if (newValue == checked)
+            return;
+        checked = newValue;
+        accessibilityText = null;
+        checkedChangeInProgress = true;
+        setCheckableViewChecked(newValue);
+        checkedChangeInProgress = false;
+        checkableView.jumpDrawablesToCurrentState();
+        publishSelection();
+        validate();
+    }
+
+    SelectableOption getBoundOption() {
+        return boundOption;
+    }
+
     public void addValidationCallback(ValidationCallback validationCallback) {
         validationCallbacks.add(validationCallback);
     }
@@ -76,12 +155,56 @@ public class RadioButtonView extends LinearLayoutCompat {
         validationCallbacks.add(validationCallback);
     }
 
+    public void addValidationCallback(ValidationCallback validationCallback, LifecycleOwner lifecycleOwner) {
+        validationCallbacks.add(validationCallback, lifecycleOwner);
+    }
+
     public void removeValidationCallback(ValidationCallback validationCallback) {
         validationCallbacks.remove(validationCallback);
     }
 
     public void setOnCheckedListener(OnCheckedChangeListener listener) {
+        if (onCheckedChangeListener != null)
+            checkedListeners.remove(onCheckedChangeListener);
         onCheckedChangeListener = listener;
+        if (listener != null)
+            checkedListeners.add(listener);
+    }
+
+    public void addOnCheckedListener(OnCheckedChangeListener listener) {
+        checkedListeners.add(listener);
+    }
+
+    public void addOnCheckedListener(OnCheckedChangeListener listener, LifecycleOwner lifecycleOwner) {
+        checkedListeners.add(listener, lifecycleOwner);
+    }
+
+    public void addWeakOnCheckedListener(OnCheckedChangeListener listener) {
+        checkedListeners.addWeak(listener);
+    }
+
+    public void removeOnCheckedListener(OnCheckedChangeListener listener) {
+        if (listener == onCheckedChangeListener)
+            onCheckedChangeListener = null;
+        checkedListeners.remove(listener);
+    }
+
+    public void setSelectionStore(SelectionStore selectionStore, int key) {
+        if (this.selectionStore != null)
+            this.selectionStore.setSelected(selectionStoreKey, false);
+        this.selectionStore = selectionStore;
+        this.selectionStoreKey = key;
+        publishSelection();
+    }
+
+    public SelectionStore getSelectionStore() {
+        return selectionStore;
+    }
+
+    public SelectionEventStream getSelectionEvents() {
+        if (selectionEventStream == null)
+            selectionEventStream = new SelectionEventStream();
+        return selectionEventStream;
     }
 
     @Override
@@ -89,7 +212,7 @@ public class RadioButtonView extends LinearLayoutCompat {
         super.setEnabled(enabled);
         this.enabled = enabled;
         textView.setEnabled(enabled);
-        radioButton.setEnabled(enabled);
+        checkableView.setEnabled(enabled);
         iconView.setEnabled(enabled);
     }
 
@@ -100,7 +223,12 @@ public class RadioButtonView extends LinearLayoutCompat {
 
     public void setText(String text) {
         this.text = text;
-        textView.setText(text);
+        accessibilityText = null;
+        PrecomputedLabelCache.setText(textView, text, textPrecomputeExecutor);
+    }
+
+    public void setTextPrecomputeExecutor(Executor textPrecomputeExecutor) {
+        this.textPrecomputeExecutor = textPrecomputeExecutor;
     }
 
     public void setIcon(Drawable icon) {
@@ -108,11 +236,30 @@ public class RadioButtonView extends LinearLayoutCompat {
     }
 
     public void setIcon(Drawable icon, Drawable iconBackground) {
+        cancelIconRequest();
+        this.iconSource = null;
         this.icon = icon;
         this.iconBackground = iconBackground;
         setupIconView();
     }
 
+    public void setIconSource(IconSource iconSource) {
+        setIconSource(iconSource, null);
+    }
+
+    public void setIconSource(IconSource iconSource, Drawable placeholder) {
+        cancelIconRequest();
+        this.iconSource = iconSource;
+        this.iconSourceLoaded = false;
+        this.icon = placeholder;
+        setupIconView();
+        loadIconSource();
+    }
+
+    public IconSource getIconSource() {
+        return iconSource;
+    }
+
     public void setIconScaleType(ScaleType iconScaleType) {
         this.iconScaleType = iconScaleType;
         iconView.setScaleType(iconScaleType);
@@ -126,11 +273,14 @@ public class RadioButtonView extends LinearLayoutCompat {
     public void setTextSize(int textSize) {
         this.textSize = textSize;
         textView.setTextSize(textSize);
+        if (textPrecomputeExecutor != null)
+            PrecomputedLabelCache.setText(textView, text, textPrecomputeExecutor);
     }
 
     public void setStartIconSize(int startIconSize) {
         this.startIconSize = startIconSize;
         setupStartIconSize();
+        reloadIconSource();
     }
 
     public void setIconSpacing(int iconSpacing) {
@@ -146,12 +296,36 @@ public class RadioButtonView extends LinearLayoutCompat {
     public void setChecked(boolean newValue) {
         if (newValue == checked)
             return;
+        if (onGroupCheckedListener == null) {
+            applyChecked(newValue);
+            return;
+        }
+        SelectionBatch.begin();
+        try {
+            applyChecked(newValue);
+        } finally {
+            SelectionBatch.end();
+        }
+    }
+
+    private void applyChecked(boolean newValue) {
         checked = newValue;
-        radioButton.setChecked(newValue);
-        if (onCheckedChangeListener != null)
-            onCheckedChangeListener.execute(this, checked);
-        if (dataBindingCheckChangeListener != null)
-            dataBindingCheckChangeListener.execute(this, checked);
+        accessibilityText = null;
+        checkedChangeInProgress = true;
+        setCheckableViewChecked(newValue);
+        checkedChangeInProgress = false;
+        publishSelection();
+        boolean active = lifecycleGate == null || lifecycleGate.isActive();
+        if (!active && !checkedDeliveryPending) {
+            checkedDeliveryPending = true;
+            deliveredChecked = !newValue;
+        }
+        if (selectionEventStream != null)
+            selectionEventStream.publish(this, getId(), newValue);
+        if (active)
+            dispatchCheckedChanged();
+        else
+            checkableView.jumpDrawablesToCurrentState();
         if (onGroupCheckedListener != null)
             onGroupCheckedListener.execute(this, newValue);
         validate();
@@ -164,17 +338,56 @@ public class RadioButtonView extends LinearLayoutCompat {
 
     public void setErrorText(String errorText) {
         this.errorText = errorText;
+        accessibilityText = null;
         errorTextView.setText(errorText);
     }
 
     public void setIconPadding(int left, int top, int right, int bottom) {
         iconPadding = new int[]{left, top, right, bottom};
         iconView.setPadding(left, top, right, bottom);
+        reloadIconSource();
+    }
+
+    public void setFixedHeightEnabled(boolean fixedHeight) {
+        if (this.fixedHeight == fixedHeight)
+            return;
+        this.fixedHeight = fixedHeight;
+        setupFixedHeightMode();
+    }
+
+    public boolean isFixedHeightEnabled() {
+        return fixedHeight;
+    }
+
+    public void setGlyphTintList(ColorStateList tintList) {
+        if (glyphView != null)
+            glyphView.setGlyphTintList(tintList);
+    }
+
+    public boolean isLightweightGlyphEnabled() {
+        return lightweightGlyph;
+    }
+
+    public void setStaticSnapshotEnabled(boolean staticSnapshotEnabled) {
+        if (staticSnapshotEnabled == (staticSnapshot != null))
+            return;
+        if (staticSnapshot != null)
+            staticSnapshot.invalidate();
+        staticSnapshot = staticSnapshotEnabled ? new StaticRowSnapshot() : null;
+        invalidate();
+    }
+
+    public boolean isStaticSnapshotEnabled() {
+        return staticSnapshot != null;
     }
 
     public void setTextPosition(TextPosition textPosition) {
+        if (this.textPosition == textPosition)
+            return;
         this.textPosition = textPosition;
         setupViewsOrder();
+        setupIconSpacing();
+        setupTextSpacing();
     }
 
     public boolean isChecked() {
@@ -216,94 +429,323 @@ public class RadioButtonView extends LinearLayoutCompat {
     public boolean validate() {
         boolean isValid = true;
         if (validationEnabled && isEnabled()) {
-            for (ValidationCallback validationCallback : validationCallbacks)
-                isValid &= validationCallback.execute(isChecked());
+            Object[] callbacks = validationCallbacks.entries();
+            for (int i = 0; i < callbacks.length; i++) {
+                ValidationCallback validationCallback = validationCallbacks.get(callbacks[i]);
+                if (validationCallback != null)
+                    isValid &= validationCallback.execute(isChecked());
+            }
+            validationCallbacks.pruneIfNeeded();
         }
         if (!isValid) {
             setErrorEnabled(true);
         } else {
             setErrorEnabled(false);
-            setErrorText(null);
+            if (errorText != null)
+                setErrorText(null);
         }
         return isValid;
     }
 
-    @BindingAdapter("CBV_Text")
+    @BindingAdapter("RBV_Text")
     public static void setText(RadioButtonView view, String title) {
         view.setText(title);
     }
 
-    @BindingAdapter("CBV_Checked")
+    @BindingAdapter("RBV_Checked")
     public static void setSelectableChecked(RadioButtonView view, Boolean checked) {
         if (view.isChecked() != checked)
             view.setChecked(checked);
     }
 
-    @InverseBindingAdapter(attribute = "CBV_Checked", event = "CBV_CheckedAttributeChanged")
+    @InverseBindingAdapter(attribute = "RBV_Checked", event = "RBV_CheckedAttributeChanged")
     public static Boolean getSelectableChecked(RadioButtonView view) {
         return view.checked;
     }
 
-    @BindingAdapter("CBV_CheckedAttributeChanged")
+    @BindingAdapter("RBV_CheckedAttributeChanged")
     public static void setListeners(RadioButtonView view, final InverseBindingListener attrChange) {
-        view.radioButton.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            if (view.onCheckedChangeListener != null)
-                view.onCheckedChangeListener.execute(view, isChecked);
-            attrChange.onChange();
-        });
+        if (view.inverseBindingNotifier != null)
+            view.inverseBindingNotifier.cancel();
+        view.inverseBindingNotifier = attrChange == null ? null : new FrameCoalescedNotifier(attrChange);
     }
 
     private void initializeView() {
         setOrientation(VERTICAL);
         setClickable(true);
-        inflate(getContext(), R.layout.radio_selectable_view, this);
-        setOnClickListener(v -> radioButton.toggle());
+        inflate(getContext(), lightweightGlyph ? R.layout.radio_selectable_view_glyph : R.layout.radio_selectable_view, this);
+        setOnClickListener(v -> setChecked(true));
         radioButtonWrapper = findViewById(R.id.radioButtonWrapper);
         iconView = findViewById(R.id.selectableIconImageView);
         textView = findViewById(R.id.selectableTextView);
         errorTextView = findViewById(R.id.errorTextView);
-        radioButton = findViewById(R.id.selectableCheckableView);
+        checkableView = findViewById(R.id.selectableCheckableView);
+        if (lightweightGlyph)
+            glyphView = (SelectionGlyphView) checkableView;
+        else
+            radioButton = (MaterialRadioButton) checkableView;
         setupViews();
     }
 
+    @Override
+    public void requestLayout() {
+        if (!checkedChangeInProgress)
+            invalidateMeasureCache();
+        invalidateStaticSnapshot();
+        super.requestLayout();
+    }
+
+    @Override
+    public void invalidate() {
+        invalidateStaticSnapshot();
+        super.invalidate();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void invalidate(Rect dirty) {
+        invalidateStaticSnapshot();
+        super.invalidate(dirty);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void invalidate(int l, int t, int r, int b) {
+        invalidateStaticSnapshot();
+        super.invalidate(l, t, r, b);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public ViewParent invalidateChildInParent(int[] location, Rect dirty) {
+        invalidateStaticSnapshot();
+        return super.invalidateChildInParent(location, dirty);
+    }
+
+    @Override
+    @RequiresApi(api = Build.VERSION_CODES.O)
+    public void onDescendantInvalidated(View child, View target) {
+        invalidateStaticSnapshot();
+        super.onDescendantInvalidated(child, target);
+    }
+
+    @Override
+    protected void drawableStateChanged() {
+        super.drawableStateChanged();
+        invalidateStaticSnapshot();
+    }
+
+    @Override
+    public boolean onRequestSendAccessibilityEvent(View child, AccessibilityEvent event) {
+        return AccessibilityBatch.shouldSend(event) && super.onRequestSendAccessibilityEvent(child, event);
+    }
+
+    @Override
+    public void onInitializeAccessibilityEvent(AccessibilityEvent event) {
+        super.onInitializeAccessibilityEvent(event);
+        event.setClassName(RadioButton.class.getName());
+        event.setChecked(checked);
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        if (accessibilityText == null)
+            accessibilityText = errorEnabled && errorText != null && !errorText.isEmpty() ? text + ", " + errorText : text;
+        info.setClassName(RadioButton.class.getName());
+        info.setCheckable(true);
+        info.setChecked(checked);
+        info.setText(accessibilityText);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        registerWithNestingGroup();
+        loadIconSource();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (nestedGroup != null) {
+            nestedGroup.unregisterNestedButton(this);
+            nestedGroup = null;
+        }
+        if (inverseBindingNotifier != null)
+            inverseBindingNotifier.flush();
+        invalidateStaticSnapshot();
+        cancelIconRequest();
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        if (staticSnapshot == null || !staticSnapshot.draw(this, canvas, this::drawChildren))
+            super.dispatchDraw(canvas);
+    }
+
+    private void drawChildren(Canvas canvas) {
+        super.dispatchDraw(canvas);
+    }
+
+    private void registerWithNestingGroup() {
+        ViewParent parent = getParent();
+        if (parent instanceof SelectableRadioGroup)
+            return;
+        for (; parent != null; parent = parent.getParent()) {
+            if (parent instanceof SelectableRadioGroup) {
+                nestedGroup = (SelectableRadioGroup) parent;
+                nestedGroup.registerNestedButton(this);
+                return;
+            }
+        }
+    }
+
+    private void invalidateStaticSnapshot() {
+        if (staticSnapshot != null)
+            staticSnapshot.invalidate();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (!fixedHeight || MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        if (measureCacheValid && cachedWidthMeasureSpec == widthMeasureSpec && cachedHeightMeasureSpec == heightMeasureSpec) {
+            setMeasuredDimension(width, resolveSize(cachedMeasuredHeight, heightMeasureSpec));
+            return;
+        }
+        int contentWidth = Math.max(0, width - getPaddingLeft() - getPaddingRight());
+        int rowHeight = computeFixedRowHeight();
+        radioButtonWrapper.measure(
+                MeasureSpec.makeMeasureSpec(contentWidth, MeasureSpec.EXACTLY),
+                MeasureSpec.makeMeasureSpec(rowHeight, MeasureSpec.EXACTLY)
+        );
+        int height = getPaddingTop() + rowHeight + getPaddingBottom();
+        if (errorTextView.getVisibility() != GONE) {
+            errorTextView.measure(
+                    MeasureSpec.makeMeasureSpec(contentWidth, MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED)
+            );
+            height += errorTextView.getMeasuredHeight();
+        }
+        cachedWidthMeasureSpec = widthMeasureSpec;
+        cachedHeightMeasureSpec = heightMeasureSpec;
+        cachedMeasuredHeight = height;
+        measureCacheValid = true;
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    private void invalidateMeasureCache() {
+        measureCacheValid = false;
+        checkableViewHeight = -1;
+    }
+
+    private int computeFixedRowHeight() {
+        int height = textView.getLineHeight() + textView.getPaddingTop() + textView.getPaddingBottom();
+        if (iconView.getVisibility() != GONE) {
+            MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
+            height = Math.max(height, startIconSize + params.topMargin + params.bottomMargin);
+        }
+        if (checkableViewHeight < 0) {
+            int unspecified = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+            checkableView.measure(unspecified, unspecified);
+            checkableViewHeight = checkableView.getMeasuredHeight();
+        }
+        height = Math.max(height, checkableViewHeight);
+        return height + radioButtonWrapper.getPaddingTop() + radioButtonWrapper.getPaddingBottom();
+    }
+
     private void setupViews() {
+        accessibilityText = null;
+        iconView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+        textView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+        errorTextView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
+        checkableView.setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_NO);
         textView.setEnabled(isEnabled());
-        radioButton.setEnabled(isEnabled());
+        checkableView.setEnabled(isEnabled());
         iconView.setEnabled(isEnabled());
         setupViewsOrder();
         setupIconView();
         setupTextView();
         setupErrorTextView();
+        setupFixedHeightMode();
         setupRadioButtonView();
     }
 
     private void setupViewsOrder() {
-        int childCount = radioButtonWrapper.getChildCount();
-        switch (textPosition) {
-            case START:
-                if (radioButtonWrapper.getChildAt(0) instanceof MaterialCheckBox) {
-                    radioButtonWrapper.removeViewAt(0);
-                    addView(radioButton, childCount - 1);
-                }
-                break;
-            case END:
-                if (!(getChildAt(0) instanceof MaterialCheckBox)) {
-                    radioButtonWrapper.removeViewAt(childCount - 1);
-                    radioButtonWrapper.addView(radioButton, 0);
-                }
-                break;
+        radioButtonWrapper.setLastChildLeading(textPosition == TextPosition.END);
+    }
+
+    private void dispatchCheckedChanged() {
+        boolean checked = this.checked;
+        Object[] listeners = checkedListeners.entries();
+        if (inverseBindingNotifier != null)
+            inverseBindingNotifier.notifyChanged();
+        for (int i = 0; i < listeners.length; i++) {
+            OnCheckedChangeListener listener = checkedListeners.get(listeners[i]);
+            if (listener != null)
+                listener.execute(this, checked);
         }
+        checkedListeners.pruneIfNeeded();
+    }
+
+    private void onLifecycleActivated() {
+        if (!checkedDeliveryPending)
+            return;
+        checkedDeliveryPending = false;
+        if (deliveredChecked != checked)
+            dispatchCheckedChanged();
+    }
+
+    private void publishSelection() {
+        if (selectionStore != null)
+            selectionStore.setSelected(selectionStoreKey, checked);
     }
 
     private void setErrorEnabled(Boolean errorEnabled) {
         if (this.errorEnabled != errorEnabled) {
             this.errorEnabled = errorEnabled;
+            accessibilityText = null;
+            invalidateMeasureCache();
             errorTextView.setVisibility(this.errorEnabled ? VISIBLE : GONE);
         }
     }
 
+    private void loadIconSource() {
+        if (iconSource == null || iconSourceLoaded || iconRequest != null || !isAttachedToWindow())
+            return;
+        int width = Math.max(1, startIconSize - iconPadding[0] - iconPadding[2]);
+        int height = Math.max(1, startIconSize - iconPadding[1] - iconPadding[3]);
+        iconRequest = IconLoader.load(getContext(), iconSource, width, height, bitmap -> {
+            iconRequest = null;
+            iconSourceLoaded = true;
+            if (bitmap == null)
+                return;
+            icon = new BitmapDrawable(getResources(), bitmap);
+            setupIconView();
+        });
+    }
+
+    private void reloadIconSource() {
+        if (iconSource == null)
+            return;
+        cancelIconRequest();
+        iconSourceLoaded = false;
+        loadIconSource();
+    }
+
+    private void cancelIconRequest() {
+        if (iconRequest == null)
+            return;
+        iconRequest.cancel();
+        iconRequest = null;
+    }
+
     private void setupIconView() {
-        LayoutParams params = (LayoutParams) iconView.getLayoutParams();
+        MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
         params.width = startIconSize;
         params.height = startIconSize;
         iconView.setVisibility(icon != null ? VISIBLE : GONE);
@@ -321,21 +763,23 @@ public class RadioButtonView extends LinearLayoutCompat {
     }
 
     private void setupTextView() {
-        textView.setText(text);
         textView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textSize);
         textView.setClickable(false);
         textView.setIncludeFontPadding(false);
+        PrecomputedLabelCache.setText(textView, text, textPrecomputeExecutor);
         setupTextSpacing();
     }
 
     private void setupIconSpacing() {
-        LayoutParams params = (LayoutParams) iconView.getLayoutParams();
+        MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
         switch (textPosition) {
             case START:
+                params.setMarginStart(0);
                 params.setMarginEnd(iconSpacing);
                 break;
             case END:
                 params.setMarginStart(iconSpacing);
+                params.setMarginEnd(0);
                 break;
         }
         iconView.setLayoutParams(params);
@@ -344,21 +788,39 @@ public class RadioButtonView extends LinearLayoutCompat {
     private void setupTextSpacing() {
         switch (textPosition) {
             case START:
-                textView.setPadding(textView.getPaddingLeft(), textView.getPaddingTop(), textSpacing, textView.getPaddingBottom());
+                textView.setPaddingRelative(0, textView.getPaddingTop(), textSpacing, textView.getPaddingBottom());
                 break;
             case END:
-                textView.setPadding(textSpacing, textView.getPaddingTop(), textView.getPaddingRight(), textView.getPaddingBottom());
+                textView.setPaddingRelative(textSpacing, textView.getPaddingTop(), 0, textView.getPaddingBottom());
                 break;
         }
     }
 
     private void setupRadioButtonView() {
+        if (glyphView != null) {
+            glyphView.setAnimationEnabled(glyphAnimated);
+            glyphView.setChecked(checked);
+            glyphView.jumpDrawablesToCurrentState();
+            return;
+        }
         radioButton.setChecked(checked);
         radioButton.setOnCheckedChangeListener((buttonView, isChecked) -> setChecked(isChecked));
     }
 
+    private void setCheckableViewChecked(boolean checked) {
+        if (glyphView != null)
+            glyphView.setChecked(checked);
+        else
+            radioButton.setChecked(checked);
+    }
+
+    private void setupFixedHeightMode() {
+        textView.setMaxLines(fixedHeight ? 1 : Integer.MAX_VALUE);
+        invalidateMeasureCache();
+    }
+
     private void setupStartIconSize() {
-        LayoutParams params = (LayoutParams) iconView.getLayoutParams();
+        MarginLayoutParams params = (MarginLayoutParams) iconView.getLayoutParams();
         params.width = startIconSize;
         params.height = startIconSize;
         iconView.setLayoutParams(params);
@@ -374,6 +836,11 @@ public class RadioButtonView extends LinearLayoutCompat {
             checked = a.getBoolean(R.styleable.RadioButtonView_RBV_Checked, false);
             validationEnabled = a.getBoolean(R.styleable.RadioButtonView_RBV_ValidationEnabled, false);
             enabled = a.getBoolean(R.styleable.RadioButtonView_RBV_ValidationEnabled, true);
+            fixedHeight = a.getBoolean(R.styleable.RadioButtonView_RBV_FixedHeight, false);
+            lightweightGlyph = a.getBoolean(R.styleable.RadioButtonView_RBV_LightweightGlyph, false);
+            glyphAnimated = a.getBoolean(R.styleable.RadioButtonView_RBV_GlyphAnimated, false);
+            if (a.getBoolean(R.styleable.RadioButtonView_RBV_StaticSnapshot, false))
+                staticSnapshot = new StaticRowSnapshot();
             startIconSize = a.getDimensionPixelSize(R.styleable.RadioButtonView_RBV_IconSize, ResourceUtils.getDimenPxById(context, R.dimen.checkable_icon_default_size));
             textSize = a.getDimensionPixelSize(R.styleable.RadioButtonView_RBV_TextSize, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_text_size));
             textSpacing = a.getDimensionPixelSize(R.styleable.RadioButtonView_RBV_TextSpacing, ResourceUtils.getDimenPxById(context, R.dimen.checkable_default_text_spacing));
@@ -443,6 +910,7 @@ public class RadioButtonView extends LinearLayoutCompat {
         iconScaleType = ScaleType.valueOf(savedState.iconScaleType);
         errorText = savedState.errorText;
         setupViews();
+        publishSelection();
     }
 
     private static class SavedState extends BaseSavedState {
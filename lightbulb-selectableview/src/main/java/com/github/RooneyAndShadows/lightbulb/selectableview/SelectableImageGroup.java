@@ -0,0 +1,446 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityEvent;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+@SuppressWarnings("unused")
+public class SelectableImageGroup extends ViewGroup {
+    private final ArrayList<SelectableImageView> items = new ArrayList<>();
+    private final BitSet checkedIndices = new BitSet();
+    private final UniformGrid grid;
+    private final SelectableImageView.OnCheckedChangeListener childCheckedListener = this::onChildCheckedChanged;
+    private SelectionMode selectionMode;
+    private int checkedIndex = -1;
+    private boolean protectFromCheckedChange = false;
+    private OnSelectionChangedListener onSelectionChangedListener;
+
+    public SelectableImageGroup(Context context) {
+        this(context, null);
+    }
+
+    public SelectableImageGroup(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        setSaveEnabled(true);
+        grid = new UniformGrid(1, 0, 0);
+        readAttributes(context, attrs);
+    }
+
+    private void readAttributes(Context context, AttributeSet attrs) {
+        TypedArray a = context.getTheme().obtainStyledAttributes(attrs, R.styleable.SelectableImageGroup, 0, 0);
+        try {
+            selectionMode = SelectionMode.valueOf(a.getInt(R.styleable.SelectableImageGroup_SIG_SelectionMode, SelectionMode.SINGLE.value));
+            grid.setColumnCount(a.getInt(R.styleable.SelectableImageGroup_SIG_ColumnCount, 4));
+            grid.setSpacing(
+                    a.getDimensionPixelSize(R.styleable.SelectableImageGroup_SIG_HorizontalSpacing, 0),
+                    a.getDimensionPixelSize(R.styleable.SelectableImageGroup_SIG_VerticalSpacing, 0)
+            );
+        } finally {
+            a.recycle();
+        }
+    }
+
+    @Override
+    public void addView(View child, int index, ViewGroup.LayoutParams params) {
+        if (!(child instanceof SelectableImageView)) {
+            Log.w(SelectableImageGroup.class.getName(), "Child view is ignored. Reason: Child views must be " + SelectableImageView.class.getName());
+            return;
+        }
+        super.addView(child, index, params);
+    }
+
+    @Override
+    public void onViewAdded(View child) {
+        super.onViewAdded(child);
+        SelectableImageView item = (SelectableImageView) child;
+        item.setOnGroupCheckedListener(childCheckedListener);
+        int lastIndex = getChildCount() - 1;
+        insertItem(getChildAt(lastIndex) == child ? lastIndex : indexOfChild(child), item);
+    }
+
+    @Override
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        SelectableImageView item = (SelectableImageView) child;
+        item.setOnGroupCheckedListener(null);
+        removeItem(((LayoutParams) item.getLayoutParams()).index);
+    }
+
+    public void setOnSelectionChangedListener(OnSelectionChangedListener onSelectionChangedListener) {
+        this.onSelectionChangedListener = onSelectionChangedListener;
+    }
+
+    public void setSelectionMode(SelectionMode selectionMode) {
+        if (this.selectionMode == selectionMode)
+            return;
+        this.selectionMode = selectionMode;
+        if (selectionMode == SelectionMode.SINGLE && checkedIndices.cardinality() > 1) {
+            int keep = checkedIndices.nextSetBit(0);
+            protectFromCheckedChange = true;
+            for (int i = checkedIndices.nextSetBit(keep + 1); i >= 0; i = checkedIndices.nextSetBit(i + 1))
+                items.get(i).setChecked(false, false);
+            protectFromCheckedChange = false;
+            checkedIndices.clear();
+            checkedIndices.set(keep);
+            checkedIndex = keep;
+            dispatchSelectionChanged();
+        } else if (selectionMode == SelectionMode.SINGLE) {
+            checkedIndex = checkedIndices.nextSetBit(0);
+        }
+    }
+
+    public SelectionMode getSelectionMode() {
+        return selectionMode;
+    }
+
+    public void setColumnCount(int columnCount) {
+        if (grid.getColumnCount() == columnCount)
+            return;
+        grid.setColumnCount(columnCount);
+        requestLayout();
+    }
+
+    public int getColumnCount() {
+        return grid.getColumnCount();
+    }
+
+    public void setSpacing(int horizontalSpacing, int verticalSpacing) {
+        grid.setSpacing(horizontalSpacing, verticalSpacing);
+        requestLayout();
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    public SelectableImageView getItem(int index) {
+        return items.get(index);
+    }
+
+    public int indexOf(SelectableImageView item) {
+        ViewGroup.LayoutParams params = item.getLayoutParams();
+        if (item.getParent() != this || !(params instanceof LayoutParams))
+            return -1;
+        return ((LayoutParams) params).index;
+    }
+
+    public boolean isChecked(int index) {
+        return checkedIndices.get(index);
+    }
+
+    public int getCheckedIndex() {
+        return selectionMode == SelectionMode.SINGLE ? checkedIndex : checkedIndices.nextSetBit(0);
+    }
+
+    public int[] getCheckedIndices() {
+        return checkedIndices.stream().toArray();
+    }
+
+    public int getCheckedCount() {
+        return checkedIndices.cardinality();
+    }
+
+    public void setChecked(int index, boolean checked) {
+        if (checkedIndices.get(index) == checked)
+            return;
+        protectFromCheckedChange = true;
+        applyChecked(index, checked, true);
+        protectFromCheckedChange = false;
+        dispatchSelectionChanged();
+    }
+
+    public void setCheckedIndices(int... indices) {
+        BitSet target = new BitSet(items.size());
+        for (int index : indices) {
+            if (index < 0 || index >= items.size())
+                continue;
+            if (selectionMode == SelectionMode.SINGLE)
+                target.clear();
+            target.set(index);
+        }
+        applyBulk(target);
+    }
+
+    public void checkAll() {
+        if (selectionMode == SelectionMode.SINGLE)
+            return;
+        BitSet target = new BitSet(items.size());
+        target.set(0, items.size());
+        applyBulk(target);
+    }
+
+    public void clearChecked() {
+        applyBulk(new BitSet());
+    }
+
+    public void invertChecked() {
+        if (selectionMode == SelectionMode.SINGLE)
+            return;
+        BitSet target = (BitSet) checkedIndices.clone();
+        target.flip(0, items.size());
+        applyBulk(target);
+    }
+
+    private void applyBulk(BitSet target) {
+        BitSet changed = (BitSet) checkedIndices.clone();
+        changed.xor(target);
+        if (changed.isEmpty())
+            return;
+        protectFromCheckedChange = true;
+        SelectionBatch.begin();
+        AccessibilityBatch.begin();
+        try {
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1))
+                applyChecked(i, target.get(i), false);
+        } finally {
+            protectFromCheckedChange = false;
+            int checkedCount = checkedIndices.cardinality();
+            AccessibilityBatch.end(this, getResources().getQuantityString(R.plurals.SV_selected_count_announcement, checkedCount, checkedCount));
+            SelectionBatch.end();
+        }
+        dispatchSelectionChanged();
+    }
+
+    private void applyChecked(int index, boolean checked, boolean animate) {
+        if (checked && selectionMode == SelectionMode.SINGLE && checkedIndex != -1 && checkedIndex != index) {
+            items.get(checkedIndex).setChecked(false, animate);
+            checkedIndices.clear(checkedIndex);
+        }
+        SelectableImageView item = items.get(index);
+        item.setChecked(checked, animate);
+        checked = item.isChecked();
+        checkedIndices.set(index, checked);
+        if (selectionMode == SelectionMode.SINGLE)
+            checkedIndex = checked ? index : (checkedIndex == index ? -1 : checkedIndex);
+    }
+
+    private void onChildCheckedChanged(SelectableImageView view, boolean isChecked) {
+        if (protectFromCheckedChange)
+            return;
+        int index = ((LayoutParams) view.getLayoutParams()).index;
+        protectFromCheckedChange = true;
+        if (isChecked && selectionMode == SelectionMode.SINGLE && checkedIndex != -1 && checkedIndex != index) {
+            items.get(checkedIndex).setChecked(false, true);
+            checkedIndices.clear(checkedIndex);
+        }
+        protectFromCheckedChange = false;
+        checkedIndices.set(index, isChecked);
+        if (selectionMode == SelectionMode.SINGLE)
+            checkedIndex = isChecked ? index : (checkedIndex == index ? -1 : checkedIndex);
+        dispatchSelectionChanged();
+    }
+
+    private void insertItem(int index, SelectableImageView item) {
+        items.add(index, item);
+        int itemsCount = items.size();
+        for (int i = itemsCount - 1; i > index; i--) {
+            ((LayoutParams) items.get(i).getLayoutParams()).index = i;
+            checkedIndices.set(i, checkedIndices.get(i - 1));
+        }
+        ((LayoutParams) item.getLayoutParams()).index = index;
+        checkedIndices.clear(index);
+        if (checkedIndex >= index)
+            checkedIndex++;
+        if (!item.isChecked())
+            return;
+        if (selectionMode == SelectionMode.SINGLE && checkedIndex != -1) {
+            protectFromCheckedChange = true;
+            item.setChecked(false, false);
+            protectFromCheckedChange = false;
+            return;
+        }
+        checkedIndices.set(index);
+        if (selectionMode == SelectionMode.SINGLE)
+            checkedIndex = index;
+    }
+
+    private void removeItem(int index) {
+        items.remove(index);
+        int itemsCount = items.size();
+        for (int i = index; i < itemsCount; i++) {
+            ((LayoutParams) items.get(i).getLayoutParams()).index = i;
+            checkedIndices.set(i, checkedIndices.get(i + 1));
+        }
+        checkedIndices.clear(itemsCount);
+        if (checkedIndex == index)
+            checkedIndex = -1;
+        else if (checkedIndex > index)
+            checkedIndex--;
+    }
+
+    private void dispatchSelectionChanged() {
+        if (onSelectionChangedListener != null)
+            onSelectionChangedListener.execute(this, getCheckedIndices());
+    }
+
+    @Override
+    public boolean onRequestSendAccessibilityEvent(View child, AccessibilityEvent event) {
+        return AccessibilityBatch.shouldSend(event) && super.onRequestSendAccessibilityEvent(child, event);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        grid.measure(this, widthMeasureSpec, heightMeasureSpec);
+        setMeasuredDimension(grid.getMeasuredWidth(), grid.getMeasuredHeight());
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        grid.layout(this, r - l);
+    }
+
+    @Override
+    public LayoutParams generateLayoutParams(AttributeSet attrs) {
+        return new LayoutParams(getContext(), attrs);
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    protected ViewGroup.LayoutParams generateLayoutParams(ViewGroup.LayoutParams params) {
+        if (params instanceof MarginLayoutParams)
+            return new LayoutParams((MarginLayoutParams) params);
+        return new LayoutParams(params);
+    }
+
+    @Override
+    protected boolean checkLayoutParams(ViewGroup.LayoutParams params) {
+        return params instanceof LayoutParams;
+    }
+
+    @Override
+    protected void dispatchSaveInstanceState(SparseArray<Parcelable> container) {
+        dispatchFreezeSelfOnly(container);
+    }
+
+    @Override
+    protected void dispatchRestoreInstanceState(SparseArray<Parcelable> container) {
+        dispatchThawSelfOnly(container);
+    }
+
+    @Override
+    public Parcelable onSaveInstanceState() {
+        Parcelable superState = super.onSaveInstanceState();
+        SavedState myState = new SavedState(superState);
+        myState.selectionMode = selectionMode.value;
+        myState.checkedWords = checkedIndices.toLongArray();
+        return myState;
+    }
+
+    @Override
+    public void onRestoreInstanceState(Parcelable state) {
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        selectionMode = SelectionMode.valueOf(savedState.selectionMode);
+        BitSet restored = BitSet.valueOf(savedState.checkedWords);
+        if (restored.length() > items.size())
+            restored.clear(items.size(), restored.length());
+        protectFromCheckedChange = true;
+        checkedIndex = -1;
+        for (int i = 0; i < items.size(); i++) {
+            boolean checked = restored.get(i);
+            items.get(i).setChecked(checked, false);
+            if (checked && selectionMode == SelectionMode.SINGLE)
+                checkedIndex = i;
+        }
+        protectFromCheckedChange = false;
+        checkedIndices.clear();
+        checkedIndices.or(restored);
+    }
+
+    public enum SelectionMode {
+        SINGLE(0),
+        MULTIPLE(1);
+
+        private final int value;
+        private static final SparseArray<SelectionMode> values = new SparseArray<>();
+
+        SelectionMode(int value) {
+            this.value = value;
+        }
+
+        static {
+            for (SelectionMode type : SelectionMode.values()) {
+                values.put(type.value, type);
+            }
+        }
+
+        public static SelectionMode valueOf(int type) {
+            return values.get(type);
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    public interface OnSelectionChangedListener {
+        void execute(SelectableImageGroup group, int[] checkedIndices);
+    }
+
+    public static class LayoutParams extends MarginLayoutParams {
+        private int index = -1;
+
+        public LayoutParams(Context context, AttributeSet attrs) {
+            super(context, attrs);
+        }
+
+        public LayoutParams(int width, int height) {
+            super(width, height);
+        }
+
+        public LayoutParams(MarginLayoutParams source) {
+            super(source);
+        }
+
+        public LayoutParams(ViewGroup.LayoutParams source) {
+            super(source);
+        }
+    }
+
+    private static class SavedState extends BaseSavedState {
+        private int selectionMode;
+        private long[] checkedWords;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            selectionMode = in.readInt();
+            checkedWords = in.createLongArray();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeInt(selectionMode);
+            out.writeLongArray(checkedWords);
+        }
+
+        public static final Creator<SavedState> CREATOR
+                = new Creator<SavedState>() {
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+}
@@ -19,6 +19,7 @@ import androidx.appcompat.widget.AppCompatImageView;
 import androidx.databinding.BindingAdapter;
 import androidx.databinding.InverseBindingAdapter;
 import androidx.databinding.InverseBindingListener;
+import androidx.lifecycle.LifecycleOwner;
 
 @SuppressWarnings("unused")
 public class SelectableImageView extends AppCompatImageView {
@@ -27,11 +28,20 @@ public class SelectableImageView extends AppCompatImageView {
     private Drawable drawableUnselected;
     private Drawable drawableSelected;
     private int drawableTint;
+    private boolean indicatorAtlasEnabled;
+    private IndicatorAtlas.StateDrawable atlasDrawable;
     private ObjectAnimator oa1;
     private ObjectAnimator oa2;
     private OnCheckedChangeListener onGroupCheckedListener;
     private OnCheckedChangeListener onCheckedChangeListener;
-    private OnCheckedChangeListener dataBindingCheckChangeListener;
+    private FrameCoalescedNotifier inverseBindingNotifier;
+    private final ListenerRegistry<OnCheckedChangeListener> checkedListeners = new ListenerRegistry<>();
+    private SelectionStore selectionStore;
+    private int selectionStoreKey;
+    private SelectionEventStream selectionEventStream;
+    private LifecycleGate lifecycleGate;
+    private boolean checkedDeliveryPending;
+    private boolean deliveredChecked;
 
     public SelectableImageView(Context context, AttributeSet attr) {
         super(context, attr);
@@ -48,7 +58,55 @@ public class SelectableImageView extends AppCompatImageView {
     }
 
     public void setOnCheckedListener(OnCheckedChangeListener listener) {
-        this.onCheckedChangeListener = listener;
+        if (onCheckedChangeListener != null)
+            checkedListeners.remove(onCheckedChangeListener);
+        onCheckedChangeListener = listener;
+        if (listener != null)
+            checkedListeners.add(listener);
+    }
+
+    public void addOnCheckedListener(OnCheckedChangeListener listener) {
+        checkedListeners.add(listener);
+    }
+
+    public void addOnCheckedListener(OnCheckedChangeListener listener, LifecycleOwner lifecycleOwner) {
+        checkedListeners.add(listener, lifecycleOwner);
+    }
+
+    public void addWeakOnCheckedListener(OnCheckedChangeListener listener) {
+        checkedListeners.addWeak(listener);
+    }
+
+    public void removeOnCheckedListener(OnCheckedChangeListener listener) {
+        if (listener == onCheckedChangeListener)
+            onCheckedChangeListener = null;
+        checkedListeners.remove(listener);
+    }
+
+    public void setLifecycleOwner(LifecycleOwner lifecycleOwner) {
+        if (lifecycleGate == null && lifecycleOwner == null)
+            return;
+        if (lifecycleGate == null)
+            lifecycleGate = new LifecycleGate(this::onLifecycleActivated);
+        lifecycleGate.setLifecycleOwner(lifecycleOwner);
+    }
+
+    public void setSelectionStore(SelectionStore selectionStore, int key) {
+        if (this.selectionStore != null)
+            this.selectionStore.setSelected(selectionStoreKey, false);
+        this.selectionStore = selectionStore;
+        this.selectionStoreKey = key;
+        publishSelection();
+    }
+
+    public SelectionStore getSelectionStore() {
+        return selectionStore;
+    }
+
+    public SelectionEventStream getSelectionEvents() {
+        if (selectionEventStream == null)
+            selectionEventStream = new SelectionEventStream();
+        return selectionEventStream;
     }
 
     protected void readAttributes(Context context, AttributeSet attrs) {
@@ -63,6 +121,7 @@ public class SelectableImageView extends AppCompatImageView {
                 drawableUnselected = ResourceUtils.getDrawable(getContext(), R.drawable.indicator_not_selected);
             checked = a.getBoolean(R.styleable.SelectableImageView_SIV_Checked, false);
             isCheckable = a.getBoolean(R.styleable.SelectableImageView_SIV_Checked, true);
+            indicatorAtlasEnabled = a.getBoolean(R.styleable.SelectableImageView_SIV_IndicatorAtlas, false);
         } finally {
             a.recycle();
         }
@@ -80,12 +139,10 @@ public class SelectableImageView extends AppCompatImageView {
     }
 
     @BindingAdapter("SIV_CheckedAttributeChanged")
-    public static void setListeners(SelectableImageView selectableView, final InverseBindingListener attrChange) {
-        selectableView.dataBindingCheckChangeListener = (view, isChecked) -> {
-            if (view.onCheckedChangeListener != null)
-                view.onCheckedChangeListener.execute(view, isChecked);
-            attrChange.onChange();
-        };
+    public static void setListeners(SelectableImageView view, final InverseBindingListener attrChange) {
+        if (view.inverseBindingNotifier != null)
+            view.inverseBindingNotifier.cancel();
+        view.inverseBindingNotifier = attrChange == null ? null : new FrameCoalescedNotifier(attrChange);
     }
 
     public void setCheckable(boolean checkable) {
@@ -114,6 +171,7 @@ public class SelectableImageView extends AppCompatImageView {
         this.drawableUnselected = defaultImage;
         if (this.drawableUnselected != null)
             this.drawableUnselected.setTint(drawableTint);
+        rebuildIndicatorAtlas();
         changeCurrentDrawableAccordingToState(false);
     }
 
@@ -121,6 +179,7 @@ public class SelectableImageView extends AppCompatImageView {
         this.drawableSelected = selectedImage;
         if (this.drawableSelected != null)
             this.drawableSelected.setTint(drawableTint);
+        rebuildIndicatorAtlas();
         changeCurrentDrawableAccordingToState(false);
     }
 
@@ -139,6 +198,34 @@ public class SelectableImageView extends AppCompatImageView {
         return checked;
     }
 
+    public void setIndicatorAtlasEnabled(boolean indicatorAtlasEnabled) {
+        if (this.indicatorAtlasEnabled == indicatorAtlasEnabled)
+            return;
+        this.indicatorAtlasEnabled = indicatorAtlasEnabled;
+        rebuildIndicatorAtlas();
+        applyStateDrawable();
+    }
+
+    public boolean isIndicatorAtlasEnabled() {
+        return indicatorAtlasEnabled;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (!indicatorAtlasEnabled)
+            return;
+        rebuildIndicatorAtlas();
+        applyStateDrawable();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (inverseBindingNotifier != null)
+            inverseBindingNotifier.flush();
+    }
+
     private void initializeView() {
         if (isInEditMode()) {
             getLayoutParams().height = ResourceUtils.dpToPx(40);
@@ -155,6 +242,7 @@ public class SelectableImageView extends AppCompatImageView {
             drawableUnselected.setTint(drawableTint);
         if (drawableSelected != null)
             drawableSelected.setTint(drawableTint);
+        rebuildIndicatorAtlas();
         changeCurrentDrawableAccordingToState(false);
     }
 
@@ -162,15 +250,70 @@ public class SelectableImageView extends AppCompatImageView {
         if (this.checked == newState)
             return;
         this.checked = newState;
-        changeCurrentDrawableAccordingToState(animate);
-        if (onCheckedChangeListener != null)
-            onCheckedChangeListener.execute(this, newState);
-        if (dataBindingCheckChangeListener != null)
-            dataBindingCheckChangeListener.execute(this, checked);
+        publishSelection();
+        boolean active = lifecycleGate == null || lifecycleGate.isActive();
+        changeCurrentDrawableAccordingToState(animate && active);
+        if (!active && !checkedDeliveryPending) {
+            checkedDeliveryPending = true;
+            deliveredChecked = !newState;
+        }
+        if (selectionEventStream != null)
+            selectionEventStream.publish(this, getId(), newState);
+        if (active)
+            dispatchCheckedChanged();
         if (onGroupCheckedListener != null)
             onGroupCheckedListener.execute(this, newState);
     }
 
+    private void dispatchCheckedChanged() {
+        Object[] listeners = checkedListeners.entries();
+        for (int i = 0; i < listeners.length; i++) {
+            OnCheckedChangeListener listener = checkedListeners.get(listeners[i]);
+            if (listener != null)
+                listener.execute(this, checked);
+        }
+        checkedListeners.pruneIfNeeded();
+        if (inverseBindingNotifier != null)
+            inverseBindingNotifier.notifyChanged();
+    }
+
+    private void onLifecycleActivated() {
+        if (!checkedDeliveryPending)
+            return;
+        checkedDeliveryPending = false;
+        if (deliveredChecked != checked)
+            dispatchCheckedChanged();
+    }
+
+    private void publishSelection() {
+        if (selectionStore != null)
+            selectionStore.setSelected(selectionStoreKey, checked);
+    }
+
+    private void applyStateDrawable() {
+        if (atlasDrawable == null) {
+            setImageDrawable(checked ? drawableSelected : drawableUnselected);
+            return;
+        }
+        atlasDrawable.setChecked(checked);
+        if (getDrawable() != atlasDrawable)
+            setImageDrawable(atlasDrawable);
+    }
+
+    private void rebuildIndicatorAtlas() {
+        int width = getWidth() - getPaddingLeft() - getPaddingRight();
+        int height = getHeight() - getPaddingTop() - getPaddingBottom();
+        if (!indicatorAtlasEnabled || width <= 0 || height <= 0) {
+            atlasDrawable = null;
+            return;
+        }
+        atlasDrawable = new IndicatorAtlas.StateDrawable(
+                IndicatorAtlas.obtain(drawableUnselected, drawableSelected, width, height, drawableTint),
+                width,
+                height
+        );
+    }
+
     private void changeCurrentDrawableAccordingToState(boolean animate) {
         if (animate) {
             if (oa1.isStarted())
@@ -179,7 +322,7 @@ public class SelectableImageView extends AppCompatImageView {
                 oa2.end();
             oa1.start();
         } else {
-            setImageDrawable(checked ? drawableSelected : drawableUnselected);
+            applyStateDrawable();
         }
     }
 
@@ -194,7 +337,7 @@ public class SelectableImageView extends AppCompatImageView {
             @Override
             public void onAnimationEnd(Animator animation) {
                 super.onAnimationEnd(animation);
-                setImageDrawable(checked ? drawableSelected : drawableUnselected);
+                applyStateDrawable();
                 oa2.start();
             }
         });
@@ -222,6 +365,7 @@ public class SelectableImageView extends AppCompatImageView {
         checked = savedState.checked;
         isCheckable = savedState.isCheckable;
         setupDrawables();
+        publishSelection();
     }
 
     private static class SavedState extends BaseSavedState {
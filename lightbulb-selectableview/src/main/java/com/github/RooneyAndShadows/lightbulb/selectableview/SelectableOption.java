@@ -0,0 +1,58 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+import java.util.Objects;
+
+@SuppressWarnings("unused")
+public class SelectableOption {
+    private final int id;
+    private final String text;
+    private final Drawable icon;
+    private final boolean enabled;
+
+    public SelectableOption(int id, String text) {
+        this(id, text, null, true);
+    }
+
+    public SelectableOption(int id, String text, Drawable icon, boolean enabled) {
+        if (id == View.NO_ID)
+            throw new IllegalArgumentException("Option id must not be View.NO_ID");
+        this.id = id;
+        this.text = text;
+        this.icon = icon;
+        this.enabled = enabled;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Drawable getIcon() {
+        return icon;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        SelectableOption that = (SelectableOption) o;
+        return id == that.id && enabled == that.enabled && icon == that.icon && Objects.equals(text, that.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, text, enabled);
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SuppressWarnings("unused")
+public class SelectableOptionFilter {
+    private static final int CANCELLATION_CHECK_INTERVAL = 256;
+    public static final int DEFAULT_RESULT_LIMIT = 500;
+    private final Executor executor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Object lock = new Object();
+    private volatile Source source;
+    private volatile MatchMode matchMode = MatchMode.SUBSTRING;
+    private volatile int resultLimit = DEFAULT_RESULT_LIMIT;
+    private Result lastResult;
+    private OnFilterResultListener onFilterResultListener;
+
+    public SelectableOptionFilter(List<SelectableOption> options, Executor executor) {
+        this.executor = executor;
+        this.source = new Source(new ArrayList<>(options));
+    }
+
+    public void setOptions(List<SelectableOption> options) {
+        generation.incrementAndGet();
+        source = new Source(new ArrayList<>(options));
+    }
+
+    public List<SelectableOption> getOptions() {
+        return Collections.unmodifiableList(source.options);
+    }
+
+    public void setMatchMode(MatchMode matchMode) {
+        if (this.matchMode == matchMode)
+            return;
+        generation.incrementAndGet();
+        this.matchMode = matchMode;
+        synchronized (lock) {
+            lastResult = null;
+        }
+    }
+
+    public MatchMode getMatchMode() {
+        return matchMode;
+    }
+
+    public void setResultLimit(int resultLimit) {
+        if (resultLimit <= 0)
+            throw new IllegalArgumentException("Result limit must be positive.");
+        generation.incrementAndGet();
+        this.resultLimit = resultLimit;
+    }
+
+    public int getResultLimit() {
+        return resultLimit;
+    }
+
+    public void setOnFilterResultListener(OnFilterResultListener onFilterResultListener) {
+        this.onFilterResultListener = onFilterResultListener;
+    }
+
+    public void filter(String query) {
+        int filterGeneration = generation.incrementAndGet();
+        Source filterSource = source;
+        MatchMode filterMatchMode = matchMode;
+        int filterResultLimit = resultLimit;
+        String normalizedQuery = query == null ? "" : query.toLowerCase(Locale.getDefault());
+        executor.execute(() -> run(filterGeneration, filterSource, filterMatchMode, filterResultLimit, normalizedQuery));
+    }
+
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    private void run(int filterGeneration, Source filterSource, MatchMode filterMatchMode, int filterResultLimit, String query) {
+        String[] texts = filterSource.getNormalizedTexts();
+        int[] candidates = null;
+        synchronized (lock) {
+            Result previous = lastResult;
+            if (previous != null && previous.source == filterSource && previous.matchMode == filterMatchMode && query.startsWith(previous.query))
+                candidates = previous.indices;
+        }
+        int candidatesCount = candidates == null ? texts.length : candidates.length;
+        int[] matched = new int[candidatesCount];
+        int matchedCount = 0;
+        for (int i = 0; i < candidatesCount; i++) {
+            if (i % CANCELLATION_CHECK_INTERVAL == 0 && generation.get() != filterGeneration)
+                return;
+            int index = candidates == null ? i : candidates[i];
+            if (matches(texts[index], query, filterMatchMode))
+                matched[matchedCount++] = index;
+        }
+        int[] indices = Arrays.copyOf(matched, matchedCount);
+        synchronized (lock) {
+            lastResult = new Result(filterSource, filterMatchMode, query, indices);
+        }
+        int resultCount = Math.min(matchedCount, filterResultLimit);
+        List<SelectableOption> filtered = new ArrayList<>(resultCount);
+        for (int i = 0; i < resultCount; i++)
+            filtered.add(filterSource.options.get(indices[i]));
+        mainHandler.post(() -> {
+            if (generation.get() != filterGeneration || onFilterResultListener == null)
+                return;
+            onFilterResultListener.execute(query, filtered);
+        });
+    }
+
+    private static boolean matches(String text, String query, MatchMode matchMode) {
+        if (query.isEmpty())
+            return true;
+        if (text == null)
+            return false;
+        switch (matchMode) {
+            case PREFIX:
+                return text.startsWith(query);
+            case SUBSTRING:
+            default:
+                return text.contains(query);
+        }
+    }
+
+    public enum MatchMode {
+        PREFIX,
+        SUBSTRING
+    }
+
+    public interface OnFilterResultListener {
+        void execute(String query, List<SelectableOption> filteredOptions);
+    }
+
+    private static final class Source {
+        private final List<SelectableOption> options;
+        private String[] normalizedTexts;
+
+        private Source(List<SelectableOption> options) {
+            this.options = options;
+        }
+
+        private synchronized String[] getNormalizedTexts() {
+            if (normalizedTexts == null) {
+                Locale locale = Locale.getDefault();
+                String[] texts = new String[options.size()];
+                for (int i = 0; i < texts.length; i++) {
+                    String text = options.get(i).getText();
+                    texts[i] = text == null ? null : text.toLowerCase(locale);
+                }
+                normalizedTexts = texts;
+            }
+            return normalizedTexts;
+        }
+    }
+
+    private static final class Result {
+        private final Source source;
+        private final MatchMode matchMode;
+        private final String query;
+        private final int[] indices;
+
+        private Result(Source source, MatchMode matchMode, String query, int[] indices) {
+            this.source = source;
+            this.matchMode = matchMode;
+            this.query = query;
+            this.indices = indices;
+        }
+    }
+}
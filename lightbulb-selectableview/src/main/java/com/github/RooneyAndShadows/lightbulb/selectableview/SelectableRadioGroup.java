@@ -5,19 +5,40 @@ import android.content.res.TypedArray;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.util.AttributeSet;
-import android.util.Log;
 import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityEvent;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import androidx.appcompat.widget.LinearLayoutCompat;
+import androidx.databinding.BindingAdapter;
+import androidx.lifecycle.LifecycleOwner;
 
 public class SelectableRadioGroup extends LinearLayoutCompat {
+    private final HashMap<Integer, RadioButtonView> buttons = new HashMap<>();
+    private final ArrayList<RadioButtonView> disabledByGroup = new ArrayList<>();
+    private final RadioButtonView.OnCheckedChangeListener buttonCheckedListener = this::onButtonCheckedChanged;
     private int checkedId = -1;
-    private boolean protectFromCheckedChange = false;
     private OnCheckedChangeListener onCheckedChangeListener;
+    private SelectionStore selectionStore;
+    private SelectionEventStream selectionEventStream;
+    private SelectableOptionFilter optionFilter;
+    private PagedSelectableOptions pagedOptions;
+    private Executor textPrecomputeExecutor;
+    private UniformGrid grid;
+    private LifecycleGate lifecycleGate;
+    private LifecycleOwner lifecycleOwner;
+    private boolean buttonsDisabled;
+    private boolean checkedDeliveryPending;
+    private int deliveredCheckedId;
 
     public SelectableRadioGroup(Context context) {
         this(context, null);
@@ -37,63 +58,64 @@ public class SelectableRadioGroup extends LinearLayoutCompat {
     }
 
     @Override
-    public void addView(View child) {
-        if (!(child instanceof RadioButtonView)) {
-            Log.w(SelectableRadioGroup.class.getName(), "Child view is ignored. Reason: Child views must be " + RadioButtonView.class.getName());
-            return;
-        }
-        setupInternalCallbacks((RadioButtonView) child);
-        super.addView(child);
+    public void onViewAdded(View child) {
+        super.onViewAdded(child);
+        registerDescendants(child);
     }
 
     @Override
-    public void addView(View child, int index) {
-        if (!(child instanceof RadioButtonView)) {
-            Log.w(SelectableRadioGroup.class.getName(), "Child view is ignored. Reason: Child views must be " + RadioButtonView.class.getName());
-            return;
-        }
-        setupInternalCallbacks((RadioButtonView) child);
-        super.addView(child, index);
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        unregisterDescendants(child);
     }
 
     @Override
-    public void addView(View child, int width, int height) {
-        if (!(child instanceof RadioButtonView)) {
-            Log.w(SelectableRadioGroup.class.getName(), "Child view is ignored. Reason: Child views must be " + RadioButtonView.class.getName());
-            return;
-        }
-        setupInternalCallbacks((RadioButtonView) child);
-        super.addView(child, width, height);
+    public boolean onRequestSendAccessibilityEvent(View child, AccessibilityEvent event) {
+        return AccessibilityBatch.shouldSend(event) && super.onRequestSendAccessibilityEvent(child, event);
     }
 
-    @Override
-    public void addView(View child, ViewGroup.LayoutParams params) {
-        if (!(child instanceof RadioButtonView)) {
-            Log.w(SelectableRadioGroup.class.getName(), "Child view is ignored. Reason: Child views must be " + RadioButtonView.class.getName());
-            return;
-        }
-        setupInternalCallbacks((RadioButtonView) child);
-        super.addView(child, params);
+    public void setOnCheckedChangeListener(OnCheckedChangeListener onCheckedChangeListener) {
+        this.onCheckedChangeListener = onCheckedChangeListener;
     }
 
-    @Override
-    public void addView(View child, int index, ViewGroup.LayoutParams params) {
-        if (!(child instanceof RadioButtonView)) {
-            Log.w(SelectableRadioGroup.class.getName(), "Child view is ignored. Reason: Child views must be " + RadioButtonView.class.getName());
+    public void setLifecycleOwner(LifecycleOwner lifecycleOwner) {
+        this.lifecycleOwner = lifecycleOwner;
+        for (RadioButtonView button : buttons.values())
+            button.setLifecycleOwner(lifecycleOwner);
+        if (lifecycleGate == null && lifecycleOwner == null)
             return;
-        }
-        setupInternalCallbacks((RadioButtonView) child);
-        super.addView(child, index, params);
+        if (lifecycleGate == null)
+            lifecycleGate = new LifecycleGate(this::onLifecycleActivated);
+        lifecycleGate.setLifecycleOwner(lifecycleOwner);
     }
 
-    public void setOnCheckedChangeListener(OnCheckedChangeListener onCheckedChangeListener) {
-        this.onCheckedChangeListener = onCheckedChangeListener;
+    public void setSelectionStore(SelectionStore selectionStore) {
+        if (this.selectionStore != null)
+            this.selectionStore.replace(checkedId, -1);
+        this.selectionStore = selectionStore;
+        if (selectionStore != null)
+            selectionStore.replace(-1, checkedId);
+    }
+
+    public SelectionStore getSelectionStore() {
+        return selectionStore;
+    }
+
+    public SelectionEventStream getSelectionEvents() {
+        if (selectionEventStream == null)
+            selectionEventStream = new SelectionEventStream();
+        return selectionEventStream;
     }
 
     private void readAttributes(Context context, AttributeSet attrs) {
         TypedArray a = context.getTheme().obtainStyledAttributes(attrs, R.styleable.SelectableRadioGroup, 0, 0);
         try {
             checkedId = a.getResourceId(R.styleable.SelectableRadioGroup_SRG_CheckedId, -1);
+            grid = new UniformGrid(
+                    a.getInt(R.styleable.SelectableRadioGroup_SRG_ColumnCount, 1),
+                    a.getDimensionPixelSize(R.styleable.SelectableRadioGroup_SRG_HorizontalSpacing, 0),
+                    a.getDimensionPixelSize(R.styleable.SelectableRadioGroup_SRG_VerticalSpacing, 0)
+            );
         } finally {
             a.recycle();
         }
@@ -113,57 +135,329 @@ public class SelectableRadioGroup extends LinearLayoutCompat {
         return checkedId;
     }
 
+    public RadioButtonView findButton(int id) {
+        return buttons.get(id);
+    }
+
+    void setButtonsEnabled(boolean enabled) {
+        setEnabled(enabled);
+        if (buttonsDisabled != enabled)
+            return;
+        buttonsDisabled = !enabled;
+        if (buttonsDisabled) {
+            for (RadioButtonView button : buttons.values())
+                disableByGroup(button);
+        } else {
+            int disabledCount = disabledByGroup.size();
+            for (int i = 0; i < disabledCount; i++)
+                disabledByGroup.get(i).setEnabled(true);
+            disabledByGroup.clear();
+        }
+    }
+
+    private void disableByGroup(RadioButtonView button) {
+        if (!button.isEnabled())
+            return;
+        button.setEnabled(false);
+        disabledByGroup.add(button);
+    }
+
+    public void setColumnCount(int columnCount) {
+        if (grid.getColumnCount() == Math.max(1, columnCount))
+            return;
+        grid.setColumnCount(columnCount);
+        requestLayout();
+    }
+
+    public int getColumnCount() {
+        return grid.getColumnCount();
+    }
+
+    public void setGridSpacing(int horizontalSpacing, int verticalSpacing) {
+        grid.setSpacing(horizontalSpacing, verticalSpacing);
+        requestLayout();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (grid.getColumnCount() <= 1) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+        grid.measure(this, widthMeasureSpec, heightMeasureSpec);
+        setMeasuredDimension(grid.getMeasuredWidth(), grid.getMeasuredHeight());
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        if (grid.getColumnCount() <= 1) {
+            super.onLayout(changed, l, t, r, b);
+            return;
+        }
+        grid.layout(this, r - l);
+    }
+
+    public void setOptions(List<SelectableOption> options) {
+        applyOptions(options == null ? Collections.emptyList() : options, false);
+    }
+
+    public void setTextPrecomputeExecutor(Executor textPrecomputeExecutor) {
+        this.textPrecomputeExecutor = textPrecomputeExecutor;
+        for (RadioButtonView button : buttons.values())
+            button.setTextPrecomputeExecutor(textPrecomputeExecutor);
+    }
+
+    public void setOptionFilter(SelectableOptionFilter optionFilter) {
+        if (this.optionFilter != null)
+            this.optionFilter.setOnFilterResultListener(null);
+        this.optionFilter = optionFilter;
+        if (optionFilter != null)
+            optionFilter.setOnFilterResultListener((query, filteredOptions) -> applyOptions(filteredOptions, true));
+    }
+
+    public SelectableOptionFilter getOptionFilter() {
+        return optionFilter;
+    }
+
+    public void setPagedOptions(PagedSelectableOptions pagedOptions) {
+        if (this.pagedOptions != null)
+            this.pagedOptions.setOnPagesChangedListener(null);
+        this.pagedOptions = pagedOptions;
+        if (pagedOptions == null)
+            return;
+        pagedOptions.setOnPagesChangedListener(options -> applyOptions(options.getLoadedOptions(), true));
+        applyOptions(pagedOptions.getLoadedOptions(), true);
+        pagedOptions.loadAround(0);
+        if (checkedId != -1)
+            pagedOptions.loadPageContaining(checkedId);
+    }
+
+    public PagedSelectableOptions getPagedOptions() {
+        return pagedOptions;
+    }
+
+    @BindingAdapter("SRG_Options")
+    public static void setOptions(SelectableRadioGroup view, List<SelectableOption> options) {
+        view.setOptions(options);
+    }
+
+    private void applyOptions(List<SelectableOption> options, boolean retainHiddenSelection) {
+        int optionsCount = options.size();
+        HashSet<Integer> optionIds = new HashSet<>(optionsCount);
+        for (int i = 0; i < optionsCount; i++) {
+            int id = options.get(i).getId();
+            if (!optionIds.add(id))
+                throw new IllegalArgumentException("Duplicate option id: " + id);
+        }
+        SelectionBatch.begin();
+        try {
+            if (!retainHiddenSelection && checkedId != -1 && !optionIds.contains(checkedId))
+                setCheckedIdInternally(-1, true);
+            rebindOptionRows(options, optionIds);
+        } finally {
+            SelectionBatch.end();
+        }
+    }
+
+    private void rebindOptionRows(List<SelectableOption> options, HashSet<Integer> optionIds) {
+        int childCount = getChildCount();
+        HashMap<Integer, RadioButtonView> reusable = new HashMap<>(childCount);
+        ArrayDeque<RadioButtonView> recycled = new ArrayDeque<>();
+        ArrayList<View> retained = new ArrayList<>();
+        int[] retainedPositions = new int[childCount];
+        for (int i = 0; i < childCount; i++) {
+            View child = getChildAt(i);
+            if (!(child instanceof RadioButtonView)) {
+                retainedPositions[retained.size()] = i;
+                retained.add(child);
+            } else if (optionIds.contains(child.getId()))
+                reusable.put(child.getId(), (RadioButtonView) child);
+            else
+                recycled.add((RadioButtonView) child);
+        }
+        AccessibilityBatch.begin();
+        try {
+            bindOptionRows(options, reusable, recycled, retained, retainedPositions);
+        } finally {
+            AccessibilityBatch.end();
+        }
+    }
+
+    private void bindOptionRows(List<SelectableOption> options, HashMap<Integer, RadioButtonView> reusable, ArrayDeque<RadioButtonView> recycled, ArrayList<View> retained, int[] retainedPositions) {
+        int optionsCount = options.size();
+        RadioButtonView[] rows = new RadioButtonView[optionsCount];
+        boolean[] created = new boolean[optionsCount];
+        for (int i = 0; i < optionsCount; i++) {
+            SelectableOption option = options.get(i);
+            RadioButtonView row = reusable.remove(option.getId());
+            if (row == null)
+                row = recycled.poll();
+            if (row == null) {
+                row = new RadioButtonView(getContext());
+                row.setTextPrecomputeExecutor(textPrecomputeExecutor);
+                created[i] = true;
+            }
+            int previousId = row.getId();
+            if (disabledByGroup.remove(row))
+                row.setEnabled(true);
+            row.bindOption(option);
+            if (buttonsDisabled && !created[i])
+                disableByGroup(row);
+            if (!created[i] && previousId != row.getId()) {
+                if (buttons.get(previousId) == row)
+                    buttons.remove(previousId);
+                buttons.put(row.getId(), row);
+            }
+            row.bindChecked(option.getId() == checkedId);
+            rows[i] = row;
+        }
+        detachAllViewsFromParent();
+        for (RadioButtonView unused : recycled)
+            removeDetachedView(unused, false);
+        int retainedCount = retained.size();
+        int retainedIndex = 0;
+        int rowIndex = 0;
+        for (int position = 0; position < retainedCount + optionsCount; position++) {
+            if (retainedIndex < retainedCount && (retainedPositions[retainedIndex] <= position || rowIndex == optionsCount)) {
+                View child = retained.get(retainedIndex++);
+                attachViewToParent(child, position, child.getLayoutParams());
+            } else {
+                RadioButtonView row = rows[rowIndex];
+                if (created[rowIndex++])
+                    addViewInLayout(row, position, generateDefaultLayoutParams(), true);
+                else
+                    attachViewToParent(row, position, row.getLayoutParams());
+            }
+        }
+        requestLayout();
+        invalidate();
+    }
+
     private void setCheckedIdInternally(int newCheckedId, boolean notifyChange) {
+        SelectionBatch.begin();
+        try {
+            applyCheckedId(newCheckedId, notifyChange);
+        } finally {
+            SelectionBatch.end();
+        }
+    }
+
+    private void applyCheckedId(int newCheckedId, boolean notifyChange) {
         int previouslyCheckedId = this.checkedId;
-        RadioButtonView previousCheckedView = findViewById(previouslyCheckedId);
+        RadioButtonView previousCheckedView = buttons.get(previouslyCheckedId);
         this.checkedId = newCheckedId;
+        if (selectionStore != null)
+            selectionStore.replace(previouslyCheckedId, newCheckedId);
         if (newCheckedId == -1 && previousCheckedView != null) {
-            protectFromCheckedChange = true;
             if (previousCheckedView.isChecked())
                 previousCheckedView.setChecked(false);
-            if (notifyChange && onCheckedChangeListener != null)
-                onCheckedChangeListener.execute(checkedId, previousCheckedView);
-            protectFromCheckedChange = false;
+            if (checkedId != newCheckedId)
+                return;
+            if (notifyChange)
+                notifyCheckedChanged(previouslyCheckedId, previousCheckedView);
         } else {
-            RadioButtonView viewToCheck = findViewById(checkedId);
+            RadioButtonView viewToCheck = buttons.get(newCheckedId);
+            if (previousCheckedView != null && previousCheckedView != viewToCheck && previousCheckedView.isChecked())
+                previousCheckedView.setChecked(false);
+            if (checkedId != newCheckedId)
+                return;
             if (viewToCheck != null)
                 viewToCheck.setChecked(true);
-            if (notifyChange && onCheckedChangeListener != null)
-                onCheckedChangeListener.execute(checkedId, viewToCheck);
+            if (checkedId != newCheckedId)
+                return;
+            if (notifyChange)
+                notifyCheckedChanged(previouslyCheckedId, viewToCheck);
         }
     }
 
-    private void setupInternalCallbacks(RadioButtonView targetView) {
-        targetView.setOnGroupCheckedListener((view, isChecked) -> {
-            if (protectFromCheckedChange)
-                return;
-            protectFromCheckedChange = true;
-            int idToCheck = -1;
-            if (isChecked) {
-                idToCheck = view.getId();
-                getChildren()
-                        .stream()
-                        .filter(checkableView -> {
-                            if (checkableView.getId() == -1)
-                                return false;
-                            return checkableView.getId() != checkedId;
-                        })
-                        .forEach(checkableView -> checkableView.setChecked(false));
-            }
-            protectFromCheckedChange = false;
-            if (checkedId == idToCheck)
+    private void notifyCheckedChanged(int previouslyCheckedId, RadioButtonView view) {
+        boolean active = lifecycleGate == null || lifecycleGate.isActive();
+        if (!active && !checkedDeliveryPending) {
+            checkedDeliveryPending = true;
+            deliveredCheckedId = previouslyCheckedId;
+        }
+        if (selectionEventStream != null) {
+            int newCheckedId = checkedId;
+            selectionEventStream.publish(this, newCheckedId, newCheckedId != -1);
+            if (checkedId != newCheckedId)
                 return;
-            setCheckedIdInternally(idToCheck, true);
-        });
+        }
+        if (active)
+            dispatchCheckedChanged(view);
     }
 
-    private ArrayList<RadioButtonView> getChildren() {
-        int childCount = getChildCount();
-        ArrayList<RadioButtonView> children = new ArrayList<>();
-        for (int i = 0; i < childCount; i++) {
-            children.add((RadioButtonView) getChildAt(i));
+    private void dispatchCheckedChanged(RadioButtonView view) {
+        if (onCheckedChangeListener != null)
+            onCheckedChangeListener.execute(checkedId, view);
+    }
+
+    private void onLifecycleActivated() {
+        if (!checkedDeliveryPending)
+            return;
+        checkedDeliveryPending = false;
+        if (deliveredCheckedId != checkedId)
+            dispatchCheckedChanged(buttons.get(checkedId));
+    }
+
+    private void registerDescendants(View view) {
+        if (view instanceof RadioButtonView) {
+            RadioButtonView button = (RadioButtonView) view;
+            if (button.getId() == View.NO_ID)
+                button.setId(View.generateViewId());
+            buttons.put(button.getId(), button);
+            button.setOnGroupCheckedListener(buttonCheckedListener);
+            if (lifecycleOwner != null)
+                button.setLifecycleOwner(lifecycleOwner);
+            if (buttonsDisabled)
+                disableByGroup(button);
+            if (button.isChecked() && checkedId != button.getId())
+                setCheckedIdInternally(button.getId(), true);
+            else if (!button.isChecked() && checkedId == button.getId())
+                button.setChecked(true);
+            return;
         }
-        return children;
+        if (!(view instanceof ViewGroup) || view instanceof SelectableRadioGroup)
+            return;
+        ViewGroup group = (ViewGroup) view;
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++)
+            registerDescendants(group.getChildAt(i));
+    }
+
+    private void unregisterDescendants(View view) {
+        if (view instanceof RadioButtonView) {
+            RadioButtonView button = (RadioButtonView) view;
+            if (buttons.get(button.getId()) == button)
+                buttons.remove(button.getId());
+            button.setOnGroupCheckedListener(null);
+            if (lifecycleOwner != null)
+                button.setLifecycleOwner(null);
+            if (disabledByGroup.remove(button))
+                button.setEnabled(true);
+            return;
+        }
+        if (!(view instanceof ViewGroup) || view instanceof SelectableRadioGroup)
+            return;
+        ViewGroup group = (ViewGroup) view;
+        int childCount = group.getChildCount();
+        for (int i = 0; i < childCount; i++)
+            unregisterDescendants(group.getChildAt(i));
+    }
+
+    void registerNestedButton(RadioButtonView button) {
+        if (buttons.get(button.getId()) != button)
+            registerDescendants(button);
+    }
+
+    void unregisterNestedButton(RadioButtonView button) {
+        unregisterDescendants(button);
+    }
+
+    private void onButtonCheckedChanged(RadioButtonView view, boolean isChecked) {
+        int id = view.getId();
+        if (view.isChecked() != isChecked || isChecked == (checkedId == id) || buttons.get(id) != view)
+            return;
+        setCheckedIdInternally(isChecked ? id : -1, true);
     }
 
     @Override
@@ -188,10 +482,17 @@ public class SelectableRadioGroup extends LinearLayoutCompat {
     public void onRestoreInstanceState(Parcelable state) {
         SavedState savedState = (SavedState) state;
         super.onRestoreInstanceState(savedState.getSuperState());
-        checkedId = savedState.checkedId;
-        RadioButtonView v = findViewById(checkedId);
-        if (v != null)
-            setCheckedIdInternally(checkedId, false);
+        int restoredId = savedState.checkedId;
+        if (restoredId == -1 || buttons.get(restoredId) != null) {
+            setCheckedIdInternally(restoredId, false);
+            return;
+        }
+        setCheckedIdInternally(-1, false);
+        if (selectionStore != null)
+            selectionStore.replace(-1, restoredId);
+        checkedId = restoredId;
+        if (pagedOptions != null)
+            pagedOptions.loadPageContaining(restoredId);
     }
 
     public interface OnCheckedChangeListener {
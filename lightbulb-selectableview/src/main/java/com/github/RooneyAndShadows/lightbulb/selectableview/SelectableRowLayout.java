@@ -0,0 +1,160 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+public class SelectableRowLayout extends ViewGroup {
+    private static final int[] LAYOUT_ATTRS = new int[]{android.R.attr.layout_weight};
+    private boolean lastChildLeading;
+
+    public SelectableRowLayout(Context context) {
+        this(context, null);
+    }
+
+    public SelectableRowLayout(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public void setLastChildLeading(boolean lastChildLeading) {
+        if (this.lastChildLeading == lastChildLeading)
+            return;
+        this.lastChildLeading = lastChildLeading;
+        requestLayout();
+    }
+
+    public boolean isLastChildLeading() {
+        return lastChildLeading;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+        int verticalPadding = getPaddingTop() + getPaddingBottom();
+        int usedWidth = getPaddingLeft() + getPaddingRight();
+        int maxHeight = 0;
+        float totalWeight = 0;
+        int childCount = getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            View child = getChildAt(i);
+            if (child.getVisibility() == GONE)
+                continue;
+            LayoutParams params = (LayoutParams) child.getLayoutParams();
+            if (params.weight > 0) {
+                totalWeight += params.weight;
+                continue;
+            }
+            measureChildWithMargins(child, widthMeasureSpec, usedWidth, heightMeasureSpec, 0);
+            usedWidth += child.getMeasuredWidth() + params.leftMargin + params.rightMargin;
+            maxHeight = Math.max(maxHeight, child.getMeasuredHeight() + params.topMargin + params.bottomMargin);
+        }
+        if (totalWeight > 0) {
+            int remainingWidth = Math.max(0, widthSize - usedWidth);
+            for (int i = 0; i < childCount; i++) {
+                View child = getChildAt(i);
+                if (child.getVisibility() == GONE)
+                    continue;
+                LayoutParams params = (LayoutParams) child.getLayoutParams();
+                if (params.weight <= 0)
+                    continue;
+                int share = (int) (remainingWidth * params.weight / totalWeight);
+                remainingWidth -= share;
+                totalWeight -= params.weight;
+                int available = Math.max(0, share - params.leftMargin - params.rightMargin);
+                int childWidthMeasureSpec;
+                if (widthMode == MeasureSpec.UNSPECIFIED)
+                    childWidthMeasureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+                else if (widthMode == MeasureSpec.EXACTLY)
+                    childWidthMeasureSpec = MeasureSpec.makeMeasureSpec(available, MeasureSpec.EXACTLY);
+                else
+                    childWidthMeasureSpec = MeasureSpec.makeMeasureSpec(available, MeasureSpec.AT_MOST);
+                int childHeightMeasureSpec = getChildMeasureSpec(heightMeasureSpec, verticalPadding + params.topMargin + params.bottomMargin, params.height);
+                child.measure(childWidthMeasureSpec, childHeightMeasureSpec);
+                usedWidth += child.getMeasuredWidth() + params.leftMargin + params.rightMargin;
+                maxHeight = Math.max(maxHeight, child.getMeasuredHeight() + params.topMargin + params.bottomMargin);
+            }
+        }
+        int width = widthMode == MeasureSpec.EXACTLY ? widthSize : resolveSize(usedWidth, widthMeasureSpec);
+        int height = resolveSize(Math.max(maxHeight + verticalPadding, getSuggestedMinimumHeight()), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        boolean rtl = getLayoutDirection() == LAYOUT_DIRECTION_RTL;
+        int contentTop = getPaddingTop();
+        int contentHeight = b - t - getPaddingTop() - getPaddingBottom();
+        int x = rtl ? r - l - getPaddingRight() : getPaddingLeft();
+        int childCount = getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            int index = lastChildLeading ? (i == 0 ? childCount - 1 : i - 1) : i;
+            View child = getChildAt(index);
+            if (child.getVisibility() == GONE)
+                continue;
+            LayoutParams params = (LayoutParams) child.getLayoutParams();
+            int width = child.getMeasuredWidth();
+            int height = child.getMeasuredHeight();
+            int top = contentTop + (contentHeight - height + params.topMargin - params.bottomMargin) / 2;
+            if (rtl) {
+                x -= params.getMarginStart();
+                child.layout(x - width, top, x, top + height);
+                x -= width + params.getMarginEnd();
+            } else {
+                x += params.getMarginStart();
+                child.layout(x, top, x + width, top + height);
+                x += width + params.getMarginEnd();
+            }
+        }
+    }
+
+    @Override
+    public LayoutParams generateLayoutParams(AttributeSet attrs) {
+        return new LayoutParams(getContext(), attrs);
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    protected ViewGroup.LayoutParams generateLayoutParams(ViewGroup.LayoutParams params) {
+        if (params instanceof MarginLayoutParams)
+            return new LayoutParams((MarginLayoutParams) params);
+        return new LayoutParams(params);
+    }
+
+    @Override
+    protected boolean checkLayoutParams(ViewGroup.LayoutParams params) {
+        return params instanceof LayoutParams;
+    }
+
+    public static class LayoutParams extends MarginLayoutParams {
+        public float weight;
+
+        public LayoutParams(Context context, AttributeSet attrs) {
+            super(context, attrs);
+            TypedArray a = context.obtainStyledAttributes(attrs, LAYOUT_ATTRS);
+            try {
+                weight = a.getFloat(0, 0);
+            } finally {
+                a.recycle();
+            }
+        }
+
+        public LayoutParams(int width, int height) {
+            super(width, height);
+        }
+
+        public LayoutParams(MarginLayoutParams source) {
+            super(source);
+        }
+
+        public LayoutParams(ViewGroup.LayoutParams source) {
+            super(source);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import java.util.ArrayList;
+
+final class SelectionBatch {
+    private static final ArrayList<Runnable> endActions = new ArrayList<>();
+    private static int depth;
+
+    private SelectionBatch() {
+    }
+
+    static void begin() {
+        depth++;
+    }
+
+    static void end() {
+        if (depth == 0)
+            throw new IllegalStateException("end() called without matching begin().");
+        if (--depth > 0 || endActions.isEmpty())
+            return;
+        Runnable[] actions = endActions.toArray(new Runnable[0]);
+        endActions.clear();
+        for (Runnable action : actions)
+            action.run();
+    }
+
+    static boolean isActive() {
+        return depth > 0;
+    }
+
+    static void runAtEnd(Runnable action) {
+        endActions.add(action);
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.view.View;
+
+@SuppressWarnings("unused")
+public final class SelectionEvent {
+    private final View view;
+    private final int id;
+    private final boolean checked;
+
+    SelectionEvent(View view, int id, boolean checked) {
+        this.view = view;
+        this.id = id;
+        this.checked = checked;
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public boolean isChecked() {
+        return checked;
+    }
+}
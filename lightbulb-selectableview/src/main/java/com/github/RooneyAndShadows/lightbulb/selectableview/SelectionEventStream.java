@@ -0,0 +1,135 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+@SuppressWarnings("unused")
+public final class SelectionEventStream {
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    SelectionEventStream() {
+    }
+
+    public Subscription subscribe(Mode mode, Executor executor, Observer observer) {
+        return subscribe(mode, 0, executor, observer);
+    }
+
+    public Subscription subscribe(Mode mode, long windowMillis, Executor executor, Observer observer) {
+        if (mode == Mode.DEBOUNCE && windowMillis <= 0)
+            throw new IllegalArgumentException("Debounce window must be positive.");
+        Subscription subscription = new Subscription(mode, windowMillis, executor, observer);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public boolean hasSubscriptions() {
+        return !subscriptions.isEmpty();
+    }
+
+    void publish(View view, int id, boolean checked) {
+        if (subscriptions.isEmpty())
+            return;
+        SelectionEvent event = new SelectionEvent(view, id, checked);
+        for (Subscription subscription : subscriptions)
+            subscription.offer(event);
+    }
+
+    public enum Mode {
+        CONFLATE,
+        DEBOUNCE,
+        BATCH
+    }
+
+    public interface Observer {
+        void execute(List<SelectionEvent> events);
+    }
+
+    public final class Subscription {
+        private final Mode mode;
+        private final long windowMillis;
+        private final Executor executor;
+        private final Observer observer;
+        private final Object lock = new Object();
+        private final Runnable deliverTask = this::deliver;
+        private final Runnable windowElapsedTask = this::schedule;
+        private ArrayList<SelectionEvent> pending = new ArrayList<>();
+        private boolean scheduled;
+        private volatile boolean cancelled;
+
+        private Subscription(Mode mode, long windowMillis, Executor executor, Observer observer) {
+            this.mode = mode;
+            this.windowMillis = windowMillis;
+            this.executor = executor;
+            this.observer = observer;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            mainHandler.removeCallbacks(windowElapsedTask);
+            synchronized (lock) {
+                pending.clear();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void offer(SelectionEvent event) {
+            if (cancelled)
+                return;
+            synchronized (lock) {
+                if (mode != Mode.BATCH)
+                    pending.clear();
+                pending.add(event);
+            }
+            if (mode == Mode.DEBOUNCE) {
+                mainHandler.removeCallbacks(windowElapsedTask);
+                mainHandler.postDelayed(windowElapsedTask, windowMillis);
+            } else {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            synchronized (lock) {
+                if (scheduled || pending.isEmpty())
+                    return;
+                scheduled = true;
+            }
+            executor.execute(deliverTask);
+        }
+
+        private void deliver() {
+            while (true) {
+                List<SelectionEvent> events;
+                synchronized (lock) {
+                    if (cancelled || pending.isEmpty()) {
+                        scheduled = false;
+                        return;
+                    }
+                    events = pending;
+                    pending = new ArrayList<>();
+                }
+                boolean delivered = false;
+                try {
+                    observer.execute(events);
+                    delivered = true;
+                } finally {
+                    if (!delivered)
+                        synchronized (lock) {
+                            scheduled = false;
+                        }
+                }
+            }
+        }
+    }
+}
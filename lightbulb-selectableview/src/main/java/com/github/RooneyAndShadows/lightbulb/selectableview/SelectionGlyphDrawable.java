@@ -0,0 +1,182 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.res.ColorStateList;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+@SuppressWarnings("unused")
+public class SelectionGlyphDrawable extends Drawable {
+    private static final int[] STATE_CHECKED = new int[]{android.R.attr.state_enabled, android.R.attr.state_checked};
+    private static final int[] STATE_UNCHECKED = new int[]{android.R.attr.state_enabled};
+    private static final int[] STATE_DISABLED_CHECKED = new int[]{android.R.attr.state_checked};
+    private static final int[] STATE_DISABLED_UNCHECKED = new int[]{};
+    private static final int MAX_CHECK_MARK_PATHS = 16;
+    private static final LruCache<Integer, Path> checkMarkPaths = new LruCache<>(MAX_CHECK_MARK_PATHS);
+    private static final Paint strokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private static final Paint fillPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private static final RectF drawRect = new RectF();
+    private final Style style;
+    private final int size;
+    private ColorStateList tintList;
+    private boolean enabled = true;
+    private float progress;
+    private int alpha = 255;
+
+    static {
+        strokePaint.setStyle(Paint.Style.STROKE);
+        strokePaint.setStrokeCap(Paint.Cap.ROUND);
+        strokePaint.setStrokeJoin(Paint.Join.ROUND);
+        fillPaint.setStyle(Paint.Style.FILL);
+    }
+
+    public SelectionGlyphDrawable(Style style, int size, ColorStateList tintList) {
+        this.style = style;
+        this.size = size;
+        this.tintList = tintList;
+    }
+
+    public Style getStyle() {
+        return style;
+    }
+
+    public void setProgress(float progress) {
+        progress = Math.max(0f, Math.min(1f, progress));
+        if (this.progress == progress)
+            return;
+        this.progress = progress;
+        invalidateSelf();
+    }
+
+    public float getProgress() {
+        return progress;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled)
+            return;
+        this.enabled = enabled;
+        invalidateSelf();
+    }
+
+    @Override
+    public void setTintList(ColorStateList tint) {
+        tintList = tint;
+        invalidateSelf();
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return size;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return size;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect rect = getBounds();
+        int glyphSize = Math.min(rect.width(), rect.height());
+        if (glyphSize <= 0)
+            return;
+        float stroke = glyphSize / 9f;
+        float left = rect.left + (rect.width() - glyphSize) / 2f;
+        float top = rect.top + (rect.height() - glyphSize) / 2f;
+        drawRect.set(left + stroke, top + stroke, left + glyphSize - stroke, top + glyphSize - stroke);
+        int color = blend(resolveColor(false), resolveColor(true), progress);
+        strokePaint.setStrokeWidth(stroke);
+        strokePaint.setColor(color);
+        strokePaint.setAlpha(Color.alpha(color) * alpha / 255);
+        fillPaint.setColor(color);
+        fillPaint.setAlpha(Color.alpha(color) * alpha / 255);
+        switch (style) {
+            case CHECKBOX:
+                float radius = stroke;
+                if (progress < 1f)
+                    canvas.drawRoundRect(drawRect, radius, radius, strokePaint);
+                if (progress > 0f) {
+                    fillPaint.setAlpha((int) (fillPaint.getAlpha() * progress));
+                    canvas.drawRoundRect(drawRect, radius, radius, fillPaint);
+                    strokePaint.setColor(Color.WHITE);
+                    strokePaint.setAlpha((int) (255 * progress * alpha / 255));
+                    int save = canvas.save();
+                    canvas.translate(left, top);
+                    canvas.drawPath(getCheckMarkPath(glyphSize), strokePaint);
+                    canvas.restoreToCount(save);
+                }
+                break;
+            case RADIO:
+                float outerRadius = drawRect.width() / 2f;
+                canvas.drawCircle(drawRect.centerX(), drawRect.centerY(), outerRadius, strokePaint);
+                if (progress > 0f)
+                    canvas.drawCircle(drawRect.centerX(), drawRect.centerY(), outerRadius * 0.5f * progress, fillPaint);
+                break;
+        }
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        this.alpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    private int resolveColor(boolean checked) {
+        if (tintList == null)
+            return Color.BLACK;
+        int[] state;
+        if (enabled)
+            state = checked ? STATE_CHECKED : STATE_UNCHECKED;
+        else
+            state = checked ? STATE_DISABLED_CHECKED : STATE_DISABLED_UNCHECKED;
+        return tintList.getColorForState(state, tintList.getDefaultColor());
+    }
+
+    private static Path getCheckMarkPath(int glyphSize) {
+        Path path = checkMarkPaths.get(glyphSize);
+        if (path == null) {
+            path = new Path();
+            path.moveTo(glyphSize * 0.27f, glyphSize * 0.52f);
+            path.lineTo(glyphSize * 0.43f, glyphSize * 0.68f);
+            path.lineTo(glyphSize * 0.74f, glyphSize * 0.36f);
+            checkMarkPaths.put(glyphSize, path);
+        }
+        return path;
+    }
+
+    private static int blend(int from, int to, float fraction) {
+        if (fraction <= 0f)
+            return from;
+        if (fraction >= 1f)
+            return to;
+        int a = (int) (Color.alpha(from) + (Color.alpha(to) - Color.alpha(from)) * fraction);
+        int r = (int) (Color.red(from) + (Color.red(to) - Color.red(from)) * fraction);
+        int g = (int) (Color.green(from) + (Color.green(to) - Color.green(from)) * fraction);
+        int b = (int) (Color.blue(from) + (Color.blue(to) - Color.blue(from)) * fraction);
+        return Color.argb(a, r, g, b);
+    }
+
+    public enum Style {
+        CHECKBOX,
+        RADIO
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.view.View;
+
+import com.github.rooneyandshadows.lightbulb.commons.utils.ResourceUtils;
+
+import androidx.annotation.NonNull;
+import androidx.core.graphics.ColorUtils;
+
+@SuppressWarnings("unused")
+public class SelectionGlyphView extends View {
+    private static final long ANIMATION_DURATION = 120;
+    private SelectionGlyphDrawable glyph;
+    private boolean checked;
+    private boolean animationEnabled;
+    private ValueAnimator animator;
+
+    public SelectionGlyphView(Context context) {
+        this(context, null);
+    }
+
+    public SelectionGlyphView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        readAttributes(context, attrs);
+        glyph.setCallback(this);
+    }
+
+    public void setChecked(boolean checked) {
+        if (this.checked == checked)
+            return;
+        this.checked = checked;
+        if (animator != null)
+            animator.cancel();
+        float target = checked ? 1f : 0f;
+        if (!animationEnabled || !isAttachedToWindow()) {
+            glyph.setProgress(target);
+            return;
+        }
+        if (animator == null) {
+            animator = new ValueAnimator();
+            animator.setDuration(ANIMATION_DURATION);
+            animator.addUpdateListener(animation -> glyph.setProgress((float) animation.getAnimatedValue()));
+        }
+        animator.setFloatValues(glyph.getProgress(), target);
+        animator.start();
+    }
+
+    public boolean isChecked() {
+        return checked;
+    }
+
+    public void setAnimationEnabled(boolean animationEnabled) {
+        this.animationEnabled = animationEnabled;
+    }
+
+    public boolean isAnimationEnabled() {
+        return animationEnabled;
+    }
+
+    public void setGlyphTintList(ColorStateList tintList) {
+        glyph.setTintList(tintList);
+    }
+
+    @Override
+    public void jumpDrawablesToCurrentState() {
+        super.jumpDrawablesToCurrentState();
+        if (animator != null && animator.isRunning())
+            animator.end();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        glyph.setEnabled(enabled);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (animator != null && animator.isRunning())
+            animator.end();
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == glyph || super.verifyDrawable(who);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = glyph.getIntrinsicWidth() + getPaddingLeft() + getPaddingRight();
+        int height = glyph.getIntrinsicHeight() + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        glyph.setBounds(getPaddingLeft(), getPaddingTop(), getWidth() - getPaddingRight(), getHeight() - getPaddingBottom());
+        glyph.draw(canvas);
+    }
+
+    private void readAttributes(Context context, AttributeSet attrs) {
+        TypedArray a = context.getTheme().obtainStyledAttributes(attrs, R.styleable.SelectionGlyphView, 0, 0);
+        try {
+            SelectionGlyphDrawable.Style style = SelectionGlyphDrawable.Style.values()[a.getInt(R.styleable.SelectionGlyphView_SGV_Style, 0)];
+            int size = a.getDimensionPixelSize(R.styleable.SelectionGlyphView_SGV_Size, ResourceUtils.getDimenPxById(context, R.dimen.checkable_glyph_default_size));
+            animationEnabled = a.getBoolean(R.styleable.SelectionGlyphView_SGV_Animated, false);
+            ColorStateList tint = a.getColorStateList(R.styleable.SelectionGlyphView_SGV_Tint);
+            glyph = new SelectionGlyphDrawable(style, size, tint != null ? tint : createDefaultTint(context));
+        } finally {
+            a.recycle();
+        }
+    }
+
+    static ColorStateList createDefaultTint(Context context) {
+        int activated = ResourceUtils.getColorByAttribute(context, R.attr.colorControlActivated);
+        int onSurface = ResourceUtils.getColorByAttribute(context, R.attr.colorOnSurface);
+        return new ColorStateList(
+                new int[][]{
+                        new int[]{-android.R.attr.state_enabled, android.R.attr.state_checked},
+                        new int[]{-android.R.attr.state_enabled},
+                        new int[]{android.R.attr.state_checked},
+                        new int[]{}
+                },
+                new int[]{
+                        ColorUtils.setAlphaComponent(activated, 97),
+                        ColorUtils.setAlphaComponent(onSurface, 97),
+                        activated,
+                        ColorUtils.setAlphaComponent(onSurface, 138)
+                }
+        );
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import java.util.concurrent.Executor;
+
+@SuppressWarnings("unused")
+public final class SelectionHistory {
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+    private final int capacity;
+    private final int[] keys;
+    private final int[] oldValues;
+    private final int[] newValues;
+    private final int[] groups;
+    private final SparseArray<Tracked> tracked = new SparseArray<>();
+    private final SparseIntArray lastValues = new SparseIntArray();
+    private int head;
+    private int size;
+    private int cursor;
+    private int groupSequence;
+    private int batchDepth;
+    private int batchGroup;
+    private int overflowedGroup;
+    private boolean suppressRecording;
+    private OnHistoryChangedListener onHistoryChangedListener;
+
+    public SelectionHistory(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive.");
+        this.capacity = capacity;
+        keys = new int[capacity];
+        oldValues = new int[capacity];
+        newValues = new int[capacity];
+        groups = new int[capacity];
+    }
+
+    public void setOnHistoryChangedListener(OnHistoryChangedListener onHistoryChangedListener) {
+        this.onHistoryChangedListener = onHistoryChangedListener;
+    }
+
+    public void track(CheckBoxView view, int key) {
+        track(view, key, view.getSelectionEvents(), view.isChecked() ? 1 : 0);
+    }
+
+    public void track(RadioButtonView view, int key) {
+        track(view, key, view.getSelectionEvents(), view.isChecked() ? 1 : 0);
+    }
+
+    public void track(SelectableRadioGroup view, int key) {
+        track(view, key, view.getSelectionEvents(), view.getCheckedId());
+    }
+
+    public void untrack(int key) {
+        Tracked entry = tracked.get(key);
+        if (entry == null)
+            return;
+        entry.subscription.cancel();
+        tracked.remove(key);
+        lastValues.delete(key);
+    }
+
+    public void release() {
+        for (int i = 0; i < tracked.size(); i++)
+            tracked.valueAt(i).subscription.cancel();
+        tracked.clear();
+        lastValues.clear();
+    }
+
+    public void beginBatch() {
+        if (batchDepth++ == 0)
+            batchGroup = ++groupSequence;
+    }
+
+    public void endBatch() {
+        if (batchDepth == 0)
+            throw new IllegalStateException("endBatch() called without matching beginBatch().");
+        batchDepth--;
+    }
+
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        cursor = 0;
+        dispatchHistoryChanged();
+    }
+
+    public boolean undo() {
+        if (cursor == 0)
+            return false;
+        int group = groups[slot(cursor - 1)];
+        suppressRecording = true;
+        AccessibilityBatch.begin();
+        try {
+            while (cursor > 0 && groups[slot(cursor - 1)] == group) {
+                cursor--;
+                int slot = slot(cursor);
+                applyValue(keys[slot], oldValues[slot]);
+            }
+        } finally {
+            suppressRecording = false;
+            AccessibilityBatch.end();
+        }
+        dispatchHistoryChanged();
+        return true;
+    }
+
+    public boolean redo() {
+        if (cursor == size)
+            return false;
+        int group = groups[slot(cursor)];
+        suppressRecording = true;
+        AccessibilityBatch.begin();
+        try {
+            while (cursor < size && groups[slot(cursor)] == group) {
+                int slot = slot(cursor);
+                applyValue(keys[slot], newValues[slot]);
+                cursor++;
+            }
+        } finally {
+            suppressRecording = false;
+            AccessibilityBatch.end();
+        }
+        dispatchHistoryChanged();
+        return true;
+    }
+
+    private void track(View view, int key, SelectionEventStream events, int value) {
+        untrack(key);
+        lastValues.put(key, value);
+        SelectionEventStream.Subscription subscription = events.subscribe(SelectionEventStream.Mode.BATCH, DIRECT_EXECUTOR, batch -> {
+            for (SelectionEvent event : batch)
+                onValueChanged(key, view instanceof SelectableRadioGroup ? event.getId() : (event.isChecked() ? 1 : 0));
+        });
+        tracked.put(key, new Tracked(view, subscription));
+    }
+
+    private void onValueChanged(int key, int value) {
+        int oldValue = lastValues.get(key, value);
+        lastValues.put(key, value);
+        if (suppressRecording || oldValue == value)
+            return;
+        if (batchDepth == 0 && SelectionBatch.isActive()) {
+            beginBatch();
+            SelectionBatch.runAtEnd(this::endBatch);
+        }
+        int group = batchDepth > 0 ? batchGroup : ++groupSequence;
+        if (group == overflowedGroup)
+            return;
+        size = cursor;
+        if (size == capacity) {
+            if (groups[head] == group) {
+                discardOverflowedGroup(group);
+                return;
+            }
+            evictOldestGroup();
+        }
+        int slot = slot(size);
+        keys[slot] = key;
+        oldValues[slot] = oldValue;
+        newValues[slot] = value;
+        groups[slot] = group;
+        size++;
+        cursor = size;
+        dispatchHistoryChanged();
+    }
+
+    private void evictOldestGroup() {
+        int group = groups[head];
+        while (size > 0 && groups[head] == group) {
+            head = (head + 1) % capacity;
+            size--;
+        }
+        cursor = size;
+    }
+
+    private void discardOverflowedGroup(int group) {
+        overflowedGroup = group;
+        head = 0;
+        size = 0;
+        cursor = 0;
+        dispatchHistoryChanged();
+    }
+
+    private void applyValue(int key, int value) {
+        Tracked entry = tracked.get(key);
+        if (entry == null)
+            return;
+        View view = entry.view;
+        if (view instanceof CheckBoxView)
+            ((CheckBoxView) view).setChecked(value != 0);
+        else if (view instanceof RadioButtonView)
+            ((RadioButtonView) view).setChecked(value != 0);
+        else
+            ((SelectableRadioGroup) view).setCheckedId(value);
+    }
+
+    private int slot(int position) {
+        return (head + position) % capacity;
+    }
+
+    private void dispatchHistoryChanged() {
+        if (onHistoryChangedListener != null)
+            onHistoryChangedListener.execute(this);
+    }
+
+    public interface OnHistoryChangedListener {
+        void execute(SelectionHistory history);
+    }
+
+    private static final class Tracked {
+        private final View view;
+        private final SelectionEventStream.Subscription subscription;
+
+        private Tracked(View view, SelectionEventStream.Subscription subscription) {
+            this.view = view;
+            this.subscription = subscription;
+        }
+    }
+}
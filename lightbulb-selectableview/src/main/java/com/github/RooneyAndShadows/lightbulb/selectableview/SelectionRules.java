@@ -0,0 +1,284 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.view.View;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.concurrent.Executor;
+
+@SuppressWarnings("unused")
+public final class SelectionRules {
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+    private static final byte CLEAN = 0;
+    private static final byte DIRTY = 1;
+    private static final byte ORIGIN = 2;
+    private final IdentityHashMap<View, Node> nodes = new IdentityHashMap<>();
+    private Node[] order = new Node[0];
+    private byte[] marks = new byte[0];
+    private boolean compiled;
+    private boolean applying;
+    private Node applyingNode;
+    private int pendingFrom = -1;
+
+    public Node node(CheckBoxView view) {
+        return obtainNode(view);
+    }
+
+    public Node node(RadioButtonView view) {
+        return obtainNode(view);
+    }
+
+    public Node node(SelectableRadioGroup view) {
+        return obtainNode(view);
+    }
+
+    public SelectionRules addRule(Node source, Condition condition, Node target, Effect effect) {
+        if (source.owner != this || target.owner != this)
+            throw new IllegalArgumentException("Nodes must be created by this rules instance.");
+        if (effect == Effect.CHECK && target.view instanceof SelectableRadioGroup)
+            throw new IllegalArgumentException("CHECK effect is not supported for " + SelectableRadioGroup.class.getName());
+        Rule rule = new Rule(source, condition, target, effect);
+        source.outgoing.add(rule);
+        target.incoming.add(rule);
+        if (effect == Effect.ENABLE || effect == Effect.DISABLE)
+            target.controlsEnabled = true;
+        compiled = false;
+        return this;
+    }
+
+    public void compile() {
+        int nodesCount = nodes.size();
+        IdentityHashMap<Node, Integer> inDegree = new IdentityHashMap<>(nodesCount);
+        ArrayDeque<Node> ready = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            int degree = node.incoming.size();
+            inDegree.put(node, degree);
+            if (degree == 0)
+                ready.add(node);
+        }
+        Node[] sorted = new Node[nodesCount];
+        int position = 0;
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            node.order = position;
+            sorted[position++] = node;
+            for (Rule rule : node.outgoing) {
+                int degree = inDegree.get(rule.target) - 1;
+                inDegree.put(rule.target, degree);
+                if (degree == 0)
+                    ready.add(rule.target);
+            }
+        }
+        if (position != nodesCount)
+            throw new IllegalStateException("Selection rules contain a cycle.");
+        order = sorted;
+        marks = new byte[nodesCount];
+        for (Node node : sorted) {
+            if (node.outgoing.isEmpty() || node.subscription != null)
+                continue;
+            final Node source = node;
+            node.subscription = node.getSelectionEvents().subscribe(SelectionEventStream.Mode.BATCH, DIRECT_EXECUTOR, events -> onSourceChanged(source));
+        }
+        compiled = true;
+        evaluate(0, true);
+    }
+
+    public void evaluateAll() {
+        if (!compiled)
+            compile();
+        else
+            evaluate(0, true);
+    }
+
+    public void release() {
+        for (Node node : nodes.values()) {
+            if (node.subscription != null)
+                node.subscription.cancel();
+            node.subscription = null;
+        }
+        compiled = false;
+    }
+
+    private Node obtainNode(View view) {
+        Node node = nodes.get(view);
+        if (node == null) {
+            node = new Node(this, view);
+            nodes.put(view, node);
+            compiled = false;
+        }
+        return node;
+    }
+
+    private void onSourceChanged(Node source) {
+        if (!compiled || source == applyingNode)
+            return;
+        marks[source.order] = ORIGIN;
+        if (applying) {
+            pendingFrom = pendingFrom < 0 ? source.order : Math.min(pendingFrom, source.order);
+            return;
+        }
+        evaluate(source.order, false);
+    }
+
+    private void evaluate(int from, boolean all) {
+        ArrayList<Node> changed = new ArrayList<>();
+        for (int i = from; i < order.length; i++) {
+            int mark = all ? ORIGIN : marks[i];
+            if (mark == CLEAN)
+                continue;
+            marks[i] = CLEAN;
+            Node node = order[i];
+            int actualValue = node.readValue();
+            if (node.incoming.isEmpty())
+                node.predictedValue = actualValue;
+            else if (node.resolve(actualValue))
+                changed.add(node);
+            if (mark != ORIGIN && node.predictedValue == actualValue)
+                continue;
+            for (Rule rule : node.outgoing)
+                if (marks[rule.target.order] == CLEAN)
+                    marks[rule.target.order] = DIRTY;
+        }
+        applying = true;
+        AccessibilityBatch.begin();
+        try {
+            for (Node node : changed) {
+                applyingNode = node;
+                node.apply();
+            }
+        } finally {
+            applyingNode = null;
+            applying = false;
+            AccessibilityBatch.end();
+        }
+        if (pendingFrom >= 0) {
+            int pending = pendingFrom;
+            pendingFrom = -1;
+            evaluate(pending, false);
+        }
+    }
+
+    public enum Effect {
+        ENABLE,
+        DISABLE,
+        CHECK,
+        UNCHECK
+    }
+
+    public interface Condition {
+        boolean execute(int value);
+
+        static Condition checked() {
+            return value -> value != 0;
+        }
+
+        static Condition unchecked() {
+            return value -> value == 0;
+        }
+
+        static Condition checkedId(int id) {
+            return value -> value == id;
+        }
+    }
+
+    public static final class Node {
+        private final SelectionRules owner;
+        private final View view;
+        private final ArrayList<Rule> outgoing = new ArrayList<>();
+        private final ArrayList<Rule> incoming = new ArrayList<>();
+        private SelectionEventStream.Subscription subscription;
+        private boolean controlsEnabled;
+        private boolean predictedEnabled;
+        private int predictedValue;
+        private int order;
+
+        private Node(SelectionRules owner, View view) {
+            this.owner = owner;
+            this.view = view;
+        }
+
+        public View getView() {
+            return view;
+        }
+
+        private SelectionEventStream getSelectionEvents() {
+            if (view instanceof CheckBoxView)
+                return ((CheckBoxView) view).getSelectionEvents();
+            if (view instanceof RadioButtonView)
+                return ((RadioButtonView) view).getSelectionEvents();
+            return ((SelectableRadioGroup) view).getSelectionEvents();
+        }
+
+        private int readValue() {
+            if (view instanceof CheckBoxView)
+                return ((CheckBoxView) view).isChecked() ? 1 : 0;
+            if (view instanceof RadioButtonView)
+                return ((RadioButtonView) view).isChecked() ? 1 : 0;
+            return ((SelectableRadioGroup) view).getCheckedId();
+        }
+
+        private boolean resolve(int actualValue) {
+            boolean enabled = true;
+            boolean check = false;
+            boolean uncheck = false;
+            for (Rule rule : incoming) {
+                boolean matches = rule.condition.execute(rule.source.predictedValue);
+                switch (rule.effect) {
+                    case ENABLE:
+                        enabled &= matches;
+                        break;
+                    case DISABLE:
+                        enabled &= !matches;
+                        break;
+                    case CHECK:
+                        check |= matches;
+                        break;
+                    case UNCHECK:
+                        uncheck |= matches;
+                        break;
+                }
+            }
+            int value = actualValue;
+            if (check)
+                value = 1;
+            else if (uncheck)
+                value = view instanceof SelectableRadioGroup ? -1 : 0;
+            boolean changed = value != actualValue || (controlsEnabled && enabled != view.isEnabled());
+            predictedValue = value;
+            predictedEnabled = enabled;
+            return changed;
+        }
+
+        private void apply() {
+            if (controlsEnabled && predictedEnabled != view.isEnabled()) {
+                if (view instanceof SelectableRadioGroup)
+                    ((SelectableRadioGroup) view).setButtonsEnabled(predictedEnabled);
+                else
+                    view.setEnabled(predictedEnabled);
+            }
+            if (predictedValue == readValue())
+                return;
+            if (view instanceof CheckBoxView)
+                ((CheckBoxView) view).setChecked(predictedValue != 0);
+            else if (view instanceof RadioButtonView)
+                ((RadioButtonView) view).setChecked(predictedValue != 0);
+            else
+                ((SelectableRadioGroup) view).setCheckedId(predictedValue);
+        }
+    }
+
+    private static final class Rule {
+        private final Node source;
+        private final Condition condition;
+        private final Node target;
+        private final Effect effect;
+
+        private Rule(Node source, Condition condition, Node target, Effect effect) {
+            this.source = source;
+            this.condition = condition;
+            this.target = target;
+            this.effect = effect;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+@SuppressWarnings("unused")
+public final class SelectionStore {
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    public Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public long getVersion() {
+        return snapshot.get().version;
+    }
+
+    public boolean isSelected(int key) {
+        return snapshot.get().isSelected(key);
+    }
+
+    public void setSelected(int key, boolean selected) {
+        if (selected)
+            replace(-1, key);
+        else
+            replace(key, -1);
+    }
+
+    public void replace(int oldKey, int newKey) {
+        while (true) {
+            Snapshot current = snapshot.get();
+            int[] keys = current.keys;
+            if (oldKey != -1)
+                keys = remove(keys, oldKey);
+            if (newKey != -1)
+                keys = add(keys, newKey);
+            if (keys == current.keys)
+                return;
+            if (snapshot.compareAndSet(current, new Snapshot(keys, current.version + 1)))
+                return;
+        }
+    }
+
+    public void clear() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current.keys.length == 0)
+                return;
+            if (snapshot.compareAndSet(current, new Snapshot(new int[0], current.version + 1)))
+                return;
+        }
+    }
+
+    private static int[] add(int[] keys, int key) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0)
+            return keys;
+        int insertAt = -index - 1;
+        int[] result = new int[keys.length + 1];
+        System.arraycopy(keys, 0, result, 0, insertAt);
+        result[insertAt] = key;
+        System.arraycopy(keys, insertAt, result, insertAt + 1, keys.length - insertAt);
+        return result;
+    }
+
+    private static int[] remove(int[] keys, int key) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0)
+            return keys;
+        int[] result = new int[keys.length - 1];
+        System.arraycopy(keys, 0, result, 0, index);
+        System.arraycopy(keys, index + 1, result, index, keys.length - index - 1);
+        return result;
+    }
+
+    public static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(new int[0], 0);
+        private final int[] keys;
+        private final long version;
+
+        private Snapshot(int[] keys, long version) {
+            this.keys = keys;
+            this.version = version;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public boolean isSelected(int key) {
+            return Arrays.binarySearch(keys, key) >= 0;
+        }
+
+        public int getSelectedCount() {
+            return keys.length;
+        }
+
+        public int[] getSelectedKeys() {
+            return keys.clone();
+        }
+    }
+}
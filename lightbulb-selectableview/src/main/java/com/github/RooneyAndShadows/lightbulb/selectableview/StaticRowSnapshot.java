@@ -0,0 +1,57 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.util.LruCache;
+import android.view.View;
+
+final class StaticRowSnapshot {
+    private static final int MAX_CACHE_BYTES = (int) Math.min(Runtime.getRuntime().maxMemory() / 16, 32 * 1024 * 1024);
+    private static final LruCache<Integer, Bitmap> cache = new LruCache<Integer, Bitmap>(MAX_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(Integer key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+    private static int nextKey;
+    private final Integer key = nextKey++;
+    private boolean rendering;
+
+    boolean draw(View host, Canvas canvas, DrawDelegate drawDelegate) {
+        if (rendering || canvas.isHardwareAccelerated() || !isEligible(host))
+            return false;
+        Bitmap snapshot = cache.get(key);
+        if (snapshot == null || snapshot.getWidth() != host.getWidth() || snapshot.getHeight() != host.getHeight()) {
+            if ((long) host.getWidth() * host.getHeight() * 4 > MAX_CACHE_BYTES / 4)
+                return false;
+            snapshot = Bitmap.createBitmap(host.getWidth(), host.getHeight(), Bitmap.Config.ARGB_8888);
+            rendering = true;
+            try {
+                drawDelegate.draw(new Canvas(snapshot));
+            } finally {
+                rendering = false;
+            }
+            cache.put(key, snapshot);
+        }
+        canvas.drawBitmap(snapshot, 0, 0, null);
+        return true;
+    }
+
+    void invalidate() {
+        if (!rendering)
+            cache.remove(key);
+    }
+
+    private static boolean isEligible(View host) {
+        return !host.isEnabled()
+                && host.getWidth() > 0
+                && host.getHeight() > 0
+                && host.getAnimation() == null
+                && !host.hasTransientState()
+                && !host.isLayoutRequested();
+    }
+
+    interface DrawDelegate {
+        void draw(Canvas canvas);
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+final class UniformGrid {
+    private static final ViewGroup.MarginLayoutParams NO_MARGINS = new ViewGroup.MarginLayoutParams(0, 0);
+    private int columnCount;
+    private int horizontalSpacing;
+    private int verticalSpacing;
+    private int cellWidth;
+    private int[] rowHeights = new int[0];
+    private int measuredWidth;
+    private int measuredHeight;
+
+    UniformGrid(int columnCount, int horizontalSpacing, int verticalSpacing) {
+        this.columnCount = Math.max(1, columnCount);
+        this.horizontalSpacing = horizontalSpacing;
+        this.verticalSpacing = verticalSpacing;
+    }
+
+    void setColumnCount(int columnCount) {
+        this.columnCount = Math.max(1, columnCount);
+    }
+
+    int getColumnCount() {
+        return columnCount;
+    }
+
+    void setSpacing(int horizontalSpacing, int verticalSpacing) {
+        this.horizontalSpacing = horizontalSpacing;
+        this.verticalSpacing = verticalSpacing;
+    }
+
+    int getHorizontalSpacing() {
+        return horizontalSpacing;
+    }
+
+    int getVerticalSpacing() {
+        return verticalSpacing;
+    }
+
+    int getMeasuredWidth() {
+        return measuredWidth;
+    }
+
+    int getMeasuredHeight() {
+        return measuredHeight;
+    }
+
+    void measure(ViewGroup parent, int widthMeasureSpec, int heightMeasureSpec) {
+        int widthMode = MeasureSpec.getMode(widthMeasureSpec);
+        int widthSize = MeasureSpec.getSize(widthMeasureSpec);
+        int horizontalPadding = parent.getPaddingLeft() + parent.getPaddingRight();
+        int verticalPadding = parent.getPaddingTop() + parent.getPaddingBottom();
+        int childCount = parent.getChildCount();
+        int visibleCount = 0;
+        for (int i = 0; i < childCount; i++)
+            if (parent.getChildAt(i).getVisibility() != View.GONE)
+                visibleCount++;
+        int rowCount = (visibleCount + columnCount - 1) / columnCount;
+        if (rowHeights.length < rowCount)
+            rowHeights = new int[rowCount];
+        for (int i = 0; i < rowCount; i++)
+            rowHeights[i] = 0;
+        if (widthMode == MeasureSpec.UNSPECIFIED) {
+            cellWidth = 0;
+            for (int i = 0; i < childCount; i++) {
+                View child = parent.getChildAt(i);
+                if (child.getVisibility() == View.GONE)
+                    continue;
+                ViewGroup.MarginLayoutParams params = marginsOf(child);
+                int childWidthSpec = params.width >= 0
+                        ? MeasureSpec.makeMeasureSpec(params.width, MeasureSpec.EXACTLY)
+                        : MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+                child.measure(childWidthSpec, childHeightSpec(params, -1));
+                cellWidth = Math.max(cellWidth, child.getMeasuredWidth() + params.leftMargin + params.rightMargin);
+            }
+        } else {
+            cellWidth = Math.max(0, (widthSize - horizontalPadding - horizontalSpacing * (columnCount - 1)) / columnCount);
+        }
+        int position = 0;
+        for (int i = 0; i < childCount; i++) {
+            View child = parent.getChildAt(i);
+            if (child.getVisibility() == View.GONE)
+                continue;
+            ViewGroup.MarginLayoutParams params = marginsOf(child);
+            int available = Math.max(0, cellWidth - params.leftMargin - params.rightMargin);
+            if (widthMode != MeasureSpec.UNSPECIFIED || !isMeasurementReusable(child, params, available)) {
+                int childWidthSpec;
+                if (params.width == ViewGroup.LayoutParams.MATCH_PARENT)
+                    childWidthSpec = MeasureSpec.makeMeasureSpec(available, MeasureSpec.EXACTLY);
+                else if (params.width == ViewGroup.LayoutParams.WRAP_CONTENT)
+                    childWidthSpec = MeasureSpec.makeMeasureSpec(available, MeasureSpec.AT_MOST);
+                else
+                    childWidthSpec = MeasureSpec.makeMeasureSpec(Math.min(params.width, available), MeasureSpec.EXACTLY);
+                child.measure(childWidthSpec, childHeightSpec(params, Math.max(0, cellWidth - params.topMargin - params.bottomMargin)));
+            }
+            int row = position / columnCount;
+            rowHeights[row] = Math.max(rowHeights[row], child.getMeasuredHeight() + params.topMargin + params.bottomMargin);
+            position++;
+        }
+        int contentHeight = rowCount > 0 ? verticalSpacing * (rowCount - 1) : 0;
+        for (int i = 0; i < rowCount; i++)
+            contentHeight += rowHeights[i];
+        if (widthMode == MeasureSpec.EXACTLY || widthMode == MeasureSpec.AT_MOST)
+            measuredWidth = widthSize;
+        else
+            measuredWidth = horizontalPadding + cellWidth * columnCount + horizontalSpacing * (columnCount - 1);
+        measuredHeight = View.resolveSize(Math.max(contentHeight + verticalPadding, parent.getMinimumHeight()), heightMeasureSpec);
+    }
+
+    void layout(ViewGroup parent, int width) {
+        boolean rtl = parent.getLayoutDirection() == View.LAYOUT_DIRECTION_RTL;
+        int childCount = parent.getChildCount();
+        int top = parent.getPaddingTop();
+        int position = 0;
+        for (int i = 0; i < childCount; i++) {
+            View child = parent.getChildAt(i);
+            if (child.getVisibility() == View.GONE)
+                continue;
+            ViewGroup.MarginLayoutParams params = marginsOf(child);
+            int row = position / columnCount;
+            int column = position % columnCount;
+            if (column == 0 && row > 0)
+                top += rowHeights[row - 1] + verticalSpacing;
+            int cellStart = column * (cellWidth + horizontalSpacing);
+            int cellLeft = rtl ? width - parent.getPaddingRight() - cellStart - cellWidth : parent.getPaddingLeft() + cellStart;
+            int childWidth = child.getMeasuredWidth();
+            int childHeight = child.getMeasuredHeight();
+            int left = cellLeft + (cellWidth - childWidth + params.leftMargin - params.rightMargin) / 2;
+            int childTop = top + (rowHeights[row] - childHeight + params.topMargin - params.bottomMargin) / 2;
+            child.layout(left, childTop, left + childWidth, childTop + childHeight);
+            position++;
+        }
+    }
+
+    private static boolean isMeasurementReusable(View child, ViewGroup.MarginLayoutParams params, int available) {
+        if (params.height == ViewGroup.LayoutParams.MATCH_PARENT)
+            return false;
+        if (params.width == ViewGroup.LayoutParams.MATCH_PARENT)
+            return child.getMeasuredWidth() == available;
+        return child.getMeasuredWidth() <= available;
+    }
+
+    private static int childHeightSpec(ViewGroup.MarginLayoutParams params, int squareSize) {
+        if (params.height == ViewGroup.LayoutParams.MATCH_PARENT && squareSize >= 0)
+            return MeasureSpec.makeMeasureSpec(squareSize, MeasureSpec.EXACTLY);
+        if (params.height < 0)
+            return MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        return MeasureSpec.makeMeasureSpec(params.height, MeasureSpec.EXACTLY);
+    }
+
+    private static ViewGroup.MarginLayoutParams marginsOf(View child) {
+        ViewGroup.LayoutParams params = child.getLayoutParams();
+        if (params instanceof ViewGroup.MarginLayoutParams)
+            return (ViewGroup.MarginLayoutParams) params;
+        NO_MARGINS.width = params == null ? ViewGroup.LayoutParams.WRAP_CONTENT : params.width;
+        NO_MARGINS.height = params == null ? ViewGroup.LayoutParams.WRAP_CONTENT : params.height;
+        return NO_MARGINS;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class CheckedDeliveryTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_MaterialComponents_DayNight_NoActionBar);
+    }
+
+    @Test
+    public void userListenersRunBeforeRadioGroupIsUpdated() {
+        SelectableRadioGroup group = new SelectableRadioGroup(context);
+        RadioButtonView first = new RadioButtonView(context);
+        RadioButtonView second = new RadioButtonView(context);
+        group.addView(first);
+        group.addView(second);
+        first.setChecked(true);
+        int[] observedCheckedId = new int[1];
+        second.addOnCheckedListener((view, isChecked) -> observedCheckedId[0] = group.getCheckedId());
+        second.setChecked(true);
+        assertEquals(first.getId(), observedCheckedId[0]);
+        assertEquals(second.getId(), group.getCheckedId());
+        assertFalse(first.isChecked());
+    }
+
+    @Test
+    public void reentrantFlipIsDeliveredToEveryListener() {
+        CheckBoxView box = new CheckBoxView(context);
+        List<Boolean> first = new ArrayList<>();
+        List<Boolean> second = new ArrayList<>();
+        box.addOnCheckedListener((view, isChecked) -> {
+            first.add(isChecked);
+            if (isChecked)
+                view.setChecked(false);
+        });
+        box.addOnCheckedListener((view, isChecked) -> second.add(isChecked));
+        box.setChecked(true);
+        assertFalse(box.isChecked());
+        assertEquals(Arrays.asList(true, false), first);
+        assertEquals(2, second.size());
+        assertTrue(second.contains(true));
+        assertTrue(second.contains(false));
+    }
+
+    @Test
+    public void radioGroupIgnoresSupersededRowNotification() {
+        SelectableRadioGroup group = new SelectableRadioGroup(context);
+        RadioButtonView row = new RadioButtonView(context);
+        group.addView(row);
+        row.addOnCheckedListener((view, isChecked) -> {
+            if (isChecked)
+                view.setChecked(false);
+        });
+        row.setChecked(true);
+        assertFalse(row.isChecked());
+        assertEquals(-1, group.getCheckedId());
+    }
+
+    @Test
+    public void checkBoxGroupCountsReentrantFlips() {
+        CheckBoxGroup group = new CheckBoxGroup(context);
+        CheckBoxView box = new CheckBoxView(context);
+        group.addView(box);
+        box.addOnCheckedListener((view, isChecked) -> {
+            if (isChecked)
+                view.setChecked(false);
+        });
+        box.setChecked(true);
+        assertFalse(box.isChecked());
+        assertEquals(0, group.getCheckedCount());
+    }
+}
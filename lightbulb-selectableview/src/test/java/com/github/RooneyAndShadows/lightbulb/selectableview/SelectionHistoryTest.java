@@ -0,0 +1,149 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class SelectionHistoryTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_MaterialComponents_DayNight_NoActionBar);
+    }
+
+    @Test
+    public void undoAndRedoSingleChange() {
+        SelectionHistory history = new SelectionHistory(8);
+        CheckBoxView box = new CheckBoxView(context);
+        history.track(box, 1);
+        box.setChecked(true);
+        assertEquals(1, history.getSize());
+        assertTrue(history.undo());
+        assertFalse(box.isChecked());
+        assertTrue(history.canRedo());
+        assertTrue(history.redo());
+        assertTrue(box.isChecked());
+    }
+
+    @Test
+    public void newChangeDropsRedoEntries() {
+        SelectionHistory history = new SelectionHistory(8);
+        CheckBoxView first = new CheckBoxView(context);
+        CheckBoxView second = new CheckBoxView(context);
+        history.track(first, 1);
+        history.track(second, 2);
+        first.setChecked(true);
+        history.undo();
+        second.setChecked(true);
+        assertFalse(history.canRedo());
+        assertEquals(1, history.getSize());
+    }
+
+    @Test
+    public void explicitBatchIsOneUndoStep() {
+        SelectionHistory history = new SelectionHistory(8);
+        CheckBoxView first = new CheckBoxView(context);
+        CheckBoxView second = new CheckBoxView(context);
+        history.track(first, 1);
+        history.track(second, 2);
+        history.beginBatch();
+        first.setChecked(true);
+        second.setChecked(true);
+        history.endBatch();
+        assertTrue(history.undo());
+        assertFalse(first.isChecked());
+        assertFalse(second.isChecked());
+        assertFalse(history.canUndo());
+    }
+
+    @Test
+    public void setAllCheckedIsOneUndoStep() {
+        SelectionHistory history = new SelectionHistory(8);
+        CheckBoxGroup group = createCheckBoxGroup(history, 3);
+        group.setAllChecked(true);
+        assertEquals(3, history.getSize());
+        assertTrue(history.undo());
+        assertFalse(history.canUndo());
+        for (int i = 0; i < 3; i++)
+            assertFalse(box(group, i).isChecked());
+    }
+
+    @Test
+    public void batchLargerThanCapacityIsNotRecorded() {
+        SelectionHistory history = new SelectionHistory(2);
+        CheckBoxGroup group = createCheckBoxGroup(history, 3);
+        group.setAllChecked(true);
+        assertEquals(0, history.getSize());
+        assertFalse(history.canUndo());
+        box(group, 0).setChecked(false);
+        assertEquals(1, history.getSize());
+        assertTrue(history.undo());
+        assertTrue(box(group, 0).isChecked());
+    }
+
+    @Test
+    public void oldestStepIsEvictedWhole() {
+        SelectionHistory history = new SelectionHistory(3);
+        CheckBoxGroup group = createCheckBoxGroup(history, 2);
+        group.setAllChecked(true);
+        box(group, 0).setChecked(false);
+        box(group, 1).setChecked(false);
+        assertEquals(2, history.getSize());
+        assertTrue(history.undo());
+        assertTrue(history.undo());
+        assertFalse(history.canUndo());
+    }
+
+    @Test
+    public void exclusiveRadioSwitchIsOneUndoStep() {
+        SelectionHistory history = new SelectionHistory(8);
+        SelectableRadioGroup group = new SelectableRadioGroup(context);
+        RadioButtonView first = new RadioButtonView(context);
+        RadioButtonView second = new RadioButtonView(context);
+        group.addView(first);
+        group.addView(second);
+        history.track(first, 1);
+        history.track(second, 2);
+        history.track(group, 3);
+        first.setChecked(true);
+        second.setChecked(true);
+        assertTrue(history.undo());
+        assertTrue(first.isChecked());
+        assertFalse(second.isChecked());
+        assertEquals(first.getId(), group.getCheckedId());
+        assertTrue(history.undo());
+        assertFalse(first.isChecked());
+        assertEquals(-1, group.getCheckedId());
+        assertFalse(history.canUndo());
+    }
+
+    private CheckBoxGroup createCheckBoxGroup(SelectionHistory history, int boxesCount) {
+        CheckBoxGroup group = new CheckBoxGroup(context);
+        for (int i = 0; i < boxesCount; i++) {
+            CheckBoxView box = new CheckBoxView(context);
+            group.addView(box);
+            history.track(box, i + 1);
+        }
+        return group;
+    }
+
+    private static CheckBoxView box(CheckBoxGroup group, int index) {
+        int found = 0;
+        for (int i = 0; i < group.getChildCount(); i++)
+            if (group.getChildAt(i) instanceof CheckBoxView && found++ == index)
+                return (CheckBoxView) group.getChildAt(i);
+        throw new IndexOutOfBoundsException(String.valueOf(index));
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.rooneyandshadows.lightbulb.selectableview;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class SelectionRulesTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_MaterialComponents_DayNight_NoActionBar);
+    }
+
+    @Test
+    public void compileAppliesInitialState() {
+        CheckBoxView source = new CheckBoxView(context);
+        CheckBoxView target = new CheckBoxView(context);
+        SelectionRules rules = new SelectionRules();
+        rules.addRule(rules.node(source), SelectionRules.Condition.checked(), rules.node(target), SelectionRules.Effect.ENABLE).compile();
+        assertFalse(target.isEnabled());
+    }
+
+    @Test
+    public void sourceChangeUpdatesTarget() {
+        CheckBoxView source = new CheckBoxView(context);
+        CheckBoxView target = new CheckBoxView(context);
+        SelectionRules rules = new SelectionRules();
+        rules.addRule(rules.node(source), SelectionRules.Condition.checked(), rules.node(target), SelectionRules.Effect.ENABLE).compile();
+        source.setChecked(true);
+        assertTrue(target.isEnabled());
+        source.setChecked(false);
+        assertFalse(target.isEnabled());
+    }
+
+    @Test
+    public void checkEffectsCascadeInOrder() {
+        CheckBoxView first = new CheckBoxView(context);
+        CheckBoxView second = new CheckBoxView(context);
+        CheckBoxView third = new CheckBoxView(context);
+        SelectionRules rules = new SelectionRules();
+        rules.addRule(rules.node(first), SelectionRules.Condition.checked(), rules.node(second), SelectionRules.Effect.CHECK)
+                .addRule(rules.node(second), SelectionRules.Condition.checked(), rules.node(third), SelectionRules.Effect.CHECK)
+                .compile();
+        first.setChecked(true);
+        assertTrue(second.isChecked());
+        assertTrue(third.isChecked());
+    }
+
+    @Test
+    public void uncheckEffectClearsRadioGroup() {
+        CheckBoxView source = new CheckBoxView(context);
+        SelectableRadioGroup group = new SelectableRadioGroup(context);
+        RadioButtonView row = new RadioButtonView(context);
+        group.addView(row);
+        row.setChecked(true);
+        SelectionRules rules = new SelectionRules();
+        rules.addRule(rules.node(source), SelectionRules.Condition.checked(), rules.node(group), SelectionRules.Effect.UNCHECK).compile();
+        source.setChecked(true);
+        assertEquals(-1, group.getCheckedId());
+        assertFalse(row.isChecked());
+    }
+
+    @Test
+    public void disableEffectOnGroupDisablesRows() {
+        CheckBoxView source = new CheckBoxView(context);
+        SelectableRadioGroup group = new SelectableRadioGroup(context);
+        RadioButtonView row = new RadioButtonView(context);
+        group.addView(row);
+        SelectionRules rules = new SelectionRules();
+        rules.addRule(rules.node(source), SelectionRules.Condition.checked(), rules.node(group), SelectionRules.Effect.DISABLE).compile();
+        source.setChecked(true);
+        assertFalse(row.isEnabled());
+        source.setChecked(false);
+        assertTrue(row.isEnabled());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsCycles() {
+        CheckBoxView first = new CheckBoxView(context);
+        CheckBoxView second = new CheckBoxView(context);
+        SelectionRules rules = new SelectionRules();
+        rules.addRule(rules.node(first), SelectionRules.Condition.checked(), rules.node(second), SelectionRules.Effect.CHECK)
+                .addRule(rules.node(second), SelectionRules.Condition.checked(), rules.node(first), SelectionRules.Effect.CHECK)
+                .compile();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNodesOfAnotherInstance() {
+        SelectionRules rules = new SelectionRules();
+        SelectionRules other = new SelectionRules();
+        rules.addRule(rules.node(new CheckBoxView(context)), SelectionRules.Condition.checked(), other.node(new CheckBoxView(context)), SelectionRules.Effect.CHECK);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCheckEffectOnRadioGroup() {
+        SelectionRules rules = new SelectionRules();
+        rules.addRule(rules.node(new CheckBoxView(context)), SelectionRules.Condition.checked(), rules.node(new SelectableRadioGroup(context)), SelectionRules.Effect.CHECK);
+    }
+}